@@ -0,0 +1,63 @@
+package com.korea.travel.service;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 파생 이미지 생성 처리량 - 원본 크기별 썸네일/중간 크기 축소 + JPEG 인코딩
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImageResizeBenchmark {
+
+    // 휴대폰 사진 크기 (12MP, 4K, FHD)
+    @Param({"4032x3024", "3840x2160", "1920x1080"})
+    private String sourceSize;
+
+    private BufferedImage source;
+
+    @Setup
+    public void setUp() {
+        String[] size = sourceSize.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+        source = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = source.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage resizeThumb() {
+        return ImageResizer.resize(source, ImageDerivativeService.Variant.THUMB.getMaxDimension());
+    }
+
+    @Benchmark
+    public BufferedImage resizeMedium() {
+        return ImageResizer.resize(source, ImageDerivativeService.Variant.MEDIUM.getMaxDimension());
+    }
+
+    @Benchmark
+    public int resizeAndEncodeThumb() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageResizer.writeJpeg(ImageResizer.resize(source, ImageDerivativeService.Variant.THUMB.getMaxDimension()), 0.85f, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.korea.travel.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    /*
+     * MySQL 서버 커서 사용 (Connector/J useCursorFetch=true)
+     * - 없으면 Connector/J 는 fetch size 와 관계없이 결과 전체를 메모리에 받아 두므로
+     *   게시글 내보내기 스트림(PostRepository.streamAfter, fetch size 500)이 전체 테이블 크기만큼 메모리를 쓴다
+     * - fetch size 를 지정한 쿼리만 커서로 읽고 나머지 쿼리는 그대로
+     * - 스트리밍 결과(fetch size Integer.MIN_VALUE)와 달리 읽는 도중 같은 연결로 다른 쿼리(이미지/장소 배치 로딩) 가능
+     * - JDBC URL 에 이미 지정돼 있으면 그 값을 따른다
+     */
+    @Bean
+    public static BeanPostProcessor mysqlCursorFetchPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    String url = dataSource.getJdbcUrl();
+                    if (url != null && url.startsWith("jdbc:mysql:") && !url.contains("useCursorFetch")) {
+                        dataSource.addDataSourceProperty("useCursorFetch", "true");
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -41,6 +41,8 @@ public class SecurityConfig {
          .authorizeHttpRequests(auth -> auth
              // 정적 리소스 경로를 맨 위에 배치하여 우선순위 부여
              .requestMatchers("/uploads/**", "/static/**").permitAll()
+             // 전체 게시글 내보내기는 관리자만 (아래 /travel/posts/** 허용보다 먼저 매칭)
+             .requestMatchers("/travel/posts/export").hasRole("ADMIN")
              .requestMatchers(
                  "/travel/login",
                  "/travel/signup", 
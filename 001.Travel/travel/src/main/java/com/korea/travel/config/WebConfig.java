@@ -1,18 +1,22 @@
 package com.korea.travel.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    @Value("${web.async.timeout-ms:1800000}") // 비동기 응답(SSE 이벤트, 내보내기 스트리밍) 최대 유지 시간
+    private long asyncTimeoutMs;
+    
+    // 컨테이너 기본값(30초)이면 SSE 연결이 30초마다 끊기므로 늘려 둔다
     @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadPath = "file:" + System.getProperty("user.dir") + "/uploads/";
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadPath);
-        
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
     }
+    
+    // /uploads/** 는 UploadController 가 제공 (캐시 헤더, ETag, Range, sendfile)
 }
\ No newline at end of file
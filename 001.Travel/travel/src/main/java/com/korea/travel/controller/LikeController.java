@@ -1,5 +1,6 @@
 package com.korea.travel.controller;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.korea.travel.dto.LikeDTO;
@@ -52,7 +54,24 @@ public class LikeController {
         boolean liked = likeService.isLiked(userInfo.userId, userInfo.userType, postId);
         return ResponseEntity.ok(liked);
     }
-    
+
+    // 여러 게시물 좋아요 여부 일괄 확인 (postIds=1,2,3 - 좋아요를 누른 게시물 ID만 응답)
+    @GetMapping("/likes/isLiked")
+    public ResponseEntity<?> getLikedPostIds(@RequestParam("postIds") List<Long> postIds) {
+        UserIdInfo userInfo = getCurrentUserInfo();
+        try {
+            return ResponseEntity.ok(likeService.getLikedPostIds(userInfo.userId, userInfo.userType, postIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 게시물 좋아요 수 (아직 DB 에 기록되지 않은 변경 포함)
+    @GetMapping("/likes/{postId}/count")
+    public ResponseEntity<Integer> getLikeCount(@PathVariable Long postId) {
+        return ResponseEntity.ok(likeService.getLikeCount(postId));
+    }
+
     // 사용자 ID와 타입을 포함하는 내부 클래스
     private static class UserIdInfo {
         Long userId;
@@ -0,0 +1,52 @@
+package com.korea.travel.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.korea.travel.dto.PlaceDTO;
+import com.korea.travel.dto.PostSummaryDTO;
+import com.korea.travel.dto.ResponseDTO;
+import com.korea.travel.service.PlaceService;
+import com.korea.travel.service.PostService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/travel")
+@CrossOrigin(origins = "https://todo-test-dev.store", allowCredentials = "true") // React 앱이 동작하는 주소
+@RequiredArgsConstructor
+public class PlaceController {
+
+    private final PlaceService placeService;
+    
+    private final PostService postService;
+
+    // 가장 많이 언급된 장소
+    @GetMapping("/posts/places/top")
+    public ResponseEntity<?> getTopPlaces(@RequestParam(value = "limit", required = false) Integer limit) {
+        List<PlaceDTO> places = placeService.getTopPlaces(limit);
+        ResponseDTO<PlaceDTO> response = ResponseDTO.<PlaceDTO>builder().data(places).build();
+        return ResponseEntity.ok(response);
+    }
+    
+    // 특정 장소를 언급한 게시글 (최신순, 커서 페이지네이션)
+    @GetMapping("/posts/places/posts")
+    public ResponseEntity<?> getPostsAtPlace(
+            @RequestParam("name") String placeName,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            ResponseDTO<PostSummaryDTO> response = postService.getPostsAtPlace(placeName, cursor, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<PostSummaryDTO> response = ResponseDTO.<PostSummaryDTO>builder().error(e.getMessage()).build();
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
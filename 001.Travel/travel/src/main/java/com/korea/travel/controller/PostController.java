@@ -6,10 +6,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,9 +22,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,15 +37,22 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.korea.travel.dto.PostDTO;
+import com.korea.travel.dto.PostEventDTO;
+import com.korea.travel.dto.PostSummaryDTO;
 import com.korea.travel.dto.ResponseDTO;
+import com.korea.travel.dto.TrendingPostDTO;
 import com.korea.travel.model.PostEntity;
 import com.korea.travel.model.UserEntity;
 import com.korea.travel.persistence.LikeRepository;
 import com.korea.travel.persistence.PostRepository;
 import com.korea.travel.persistence.UserRepository;
+import com.korea.travel.service.PostCreatePipeline;
+import com.korea.travel.service.PostEventService;
 import com.korea.travel.service.PostService;
+import com.korea.travel.service.TrendingService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/travel")
@@ -47,6 +61,12 @@ import lombok.RequiredArgsConstructor;
 public class PostController {
 
     private final PostService postService;
+    
+    private final TrendingService trendingService;
+    
+    private final PostEventService postEventService;
+    
+    private final PostCreatePipeline postCreatePipeline;
 	
 	private final UserRepository userRepository;
 	
@@ -54,18 +74,87 @@ public class PostController {
 	
 	private final Logger logger = LoggerFactory.getLogger(PostController.class);
 
-    // 게시판 전체 조회
+    // 게시판 조회 - 커서 기반 페이지네이션 (unpaged=true 이면 기존처럼 전체 조회)
     @GetMapping("/posts")
-    public ResponseEntity<?> getAllPosts() {
-        List<PostDTO> dtos = postService.getAllPosts();
-        ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
+    public ResponseEntity<?> getAllPosts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+            WebRequest webRequest) {
+        // 변경이 없으면 304 Not Modified (목록을 만들지 않고 게시판 버전만 확인)
+        if (webRequest.checkNotModified(postService.getFeedETag(cursor, size, unpaged))) {
+            return null;
+        }
+        
+        if (unpaged) {
+            List<PostDTO> dtos = postService.getAllPosts();
+            ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
+            return ResponseEntity.ok(response);
+        }
+        
+        try {
+            ResponseDTO<PostSummaryDTO> response = postService.getPostsPage(cursor, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<PostSummaryDTO> response = ResponseDTO.<PostSummaryDTO>builder().error(e.getMessage()).build();
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // 게시글 검색 (제목/본문/장소, 순위순 페이지네이션)
+    @GetMapping("/posts/search")
+    public ResponseEntity<?> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        if (query == null || query.isBlank()) {
+            ResponseDTO<PostSummaryDTO> response = ResponseDTO.<PostSummaryDTO>builder().error("검색어를 입력해주세요.").build();
+            return ResponseEntity.badRequest().body(response);
+        }
+        ResponseDTO<PostSummaryDTO> response = postService.searchPosts(query, page, size);
+        return ResponseEntity.ok(response);
+    }
+    
+    // 인기 게시글 (시간 감쇠 좋아요 점수순, 메모리 스냅샷에서 바로 응답)
+    @GetMapping("/posts/trending")
+    public ResponseEntity<?> getTrendingPosts(@RequestParam(value = "limit", required = false) Integer limit) {
+        List<TrendingPostDTO> trending = trendingService.getTrending(limit);
+        ResponseDTO<TrendingPostDTO> response = ResponseDTO.<TrendingPostDTO>builder().data(trending).build();
         return ResponseEntity.ok(response);
     }
     
+    // 게시글 변경 이벤트 구독 (SSE - created/updated/deleted/likes, 게시글별로 합쳐서 전송)
+    @GetMapping(value = "/posts/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<PostEventDTO>>> streamPostEvents() {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(postEventService.subscribe());
+        } catch (IllegalStateException e) {
+            // 구독자 상한 초과 - 클라이언트(EventSource)가 잠시 후 재연결
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+    
+    // 전체 게시글 내보내기 (NDJSON 스트리밍, after=postId 로 이어받기) - 관리자 전용 (SecurityConfig)
+    @GetMapping(value = "/posts/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestParam(value = "after", required = false) Long afterPostId) {
+        StreamingResponseBody body = out -> postService.exportPosts(afterPostId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     // 마이 게시판 조회
     @GetMapping("/myPosts/{userId}")
-    public ResponseEntity<?> getMyPosts(@PathVariable String userId){
+    public ResponseEntity<?> getMyPosts(@PathVariable String userId, WebRequest webRequest){
         try {
+            // 변경이 없으면 304 Not Modified
+            if (webRequest.checkNotModified(postService.getMyPostsETag(userId))) {
+                return null;
+            }
+            
             // 수정된 서비스 메서드 호출
             List<PostDTO> dtos = postService.getMyPostsByStringId(userId);
             ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
@@ -79,7 +168,8 @@ public class PostController {
     // 게시글 한 건 조회
     @GetMapping("/posts/postDetail/{id}")
     public ResponseEntity<?> getPostById(@PathVariable Long id,
-    		@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    		@RequestHeader(value = "Authorization", required = false) String authHeader,
+    		WebRequest webRequest) {
 	    	
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.warn("유효하지 않은 인증 토큰");
@@ -92,6 +182,12 @@ public class PostController {
                 return ResponseEntity.badRequest().body("유효하지 않은 게시글 ID입니다.");
             }
             
+            // 변경이 없으면 304 Not Modified
+            String etag = postService.getPostETag(id);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            
             List<PostDTO> dtos = List.of(postService.getPostById(id));
             ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
             return ResponseEntity.ok(response);
@@ -101,9 +197,29 @@ public class PostController {
         }
     }
 
+    // 게시글 여러 건 상세 조회 (ids=1,2,3 - 요청 순서대로, 없는 ID는 missingIds 로 응답)
+    @GetMapping("/posts/batch")
+    public ResponseEntity<?> getPostsByIds(@RequestParam("ids") List<Long> ids,
+    		@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    	
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            logger.warn("유효하지 않은 인증 토큰");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("유효한 인증 토큰이 필요합니다.");
+        }
+        
+        try {
+            ResponseDTO<PostDTO> response = postService.getPostsByIds(ids);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().error(e.getMessage()).build();
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     // 게시글 작성 + 이미지 업로드
+    // 이미지 병렬 저장 -> DB 저장 파이프라인을 비동기로 실행 (요청 스레드는 바로 반환)
     @PostMapping(value = "/write/{userId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<?> createPost(
+    public CompletableFuture<ResponseEntity<?>> createPost(
     		@PathVariable String userId,  // Long에서 String으로 변경
             @RequestPart("postTitle") String postTitle,
             @RequestPart("postContent") String postContent,
@@ -111,43 +227,36 @@ public class PostController {
             @RequestPart("userNickName") String userNickName,
             @RequestPart(value = "files", required = false) List<MultipartFile> files) {
     	
-        try {
-            // DTO 생성
-            PostDTO postDTO = new PostDTO();
-            postDTO.setPostTitle(postTitle);
-            postDTO.setPostContent(postContent);
-            if (placeList != null && !placeList.trim().isEmpty()) {
-                postDTO.setPlaceList(Arrays.asList(placeList.split(", ")));
-            }
-            postDTO.setUserNickname(userNickName);
-            postDTO.setPostCreatedAt(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-            
-            // 파일 처리
-            if (files != null && !files.isEmpty()) {
-                List<String> imageUrls = postService.saveFiles(files);
-                postDTO.setImageUrls(imageUrls);
-            } else {
-                logger.info("첨부 파일 없음");
-            }
-            
-            // 수정된 서비스 메서드 호출
-            PostDTO createdPost = postService.createPostWithStringUserId(userId, postDTO);
-            
-            List<PostDTO> dtos = List.of(createdPost);
-            ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("게시글 작성 중 오류: {}", e.getMessage(), e);
-            
-            // 보다 상세한 오류 응답 반환
-            String errorMessage = "게시글 작성 중 오류: " + e.getMessage();
-            // 원인이 될 수 있는 특정 예외 확인
-            if (e.getCause() != null) {
-                errorMessage += " (원인: " + e.getCause().getMessage() + ")";
-            }
-            
-            return ResponseEntity.badRequest().body(errorMessage);
+        // DTO 생성
+        PostDTO postDTO = new PostDTO();
+        postDTO.setPostTitle(postTitle);
+        postDTO.setPostContent(postContent);
+        if (placeList != null && !placeList.trim().isEmpty()) {
+            postDTO.setPlaceList(Arrays.asList(placeList.split(", ")));
         }
+        postDTO.setUserNickname(userNickName);
+        postDTO.setPostCreatedAt(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+        
+        return postCreatePipeline.create(userId, postDTO, files)
+                .<ResponseEntity<?>>thenApply(createdPost -> {
+                    List<PostDTO> dtos = List.of(createdPost);
+                    ResponseDTO<PostDTO> response = ResponseDTO.<PostDTO>builder().data(dtos).build();
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(error -> {
+                    Throwable e = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    logger.error("게시글 작성 중 오류: {}", e.getMessage(), e);
+                    
+                    // 보다 상세한 오류 응답 반환
+                    String errorMessage = "게시글 작성 중 오류: " + e.getMessage();
+                    // 원인이 될 수 있는 특정 예외 확인
+                    if (e.getCause() != null) {
+                        errorMessage += " (원인: " + e.getCause().getMessage() + ")";
+                    }
+                    
+                    return ResponseEntity.badRequest().body(errorMessage);
+                });
     }
     
     
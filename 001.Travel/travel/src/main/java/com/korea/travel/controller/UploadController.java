@@ -0,0 +1,176 @@
+package com.korea.travel.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.korea.travel.service.UploadFileService;
+import com.korea.travel.service.UploadFileService.UploadFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 파일 제공 (/uploads/**)
+ * - 바뀌지 않는 파일은 Cache-Control: public, max-age=1년, immutable / 그 외는 no-cache (ETag 재검증)
+ * - 강한 ETag + If-None-Match / If-Modified-Since -> 304
+ * - Range: bytes=a-b 한 구간 -> 206 (If-Range 지원), 여러 구간은 전체 200 으로 응답
+ * - 본문은 Tomcat sendfile 로 커널에서 바로 전송 (지원하지 않으면 FileChannel.transferTo)
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final String PATH_PREFIX = "/uploads/";
+
+    // Tomcat sendfile 요청 속성 (NIO 커넥터에서 지원)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 요청 경로를 퍼센트 디코딩해서 얻음 (한글 등 원본 파일명이 들어간 기존 프로필 이미지 URL)
+    // 요청에 문자 인코딩이 없으면 기본값 ISO-8859-1 대신 UTF-8 (Tomcat URI 인코딩과 같게)
+    private static final UrlPathHelper URL_PATH_HELPER = createUrlPathHelper();
+
+    private final UploadFileService uploadFileService;
+
+    private final Logger logger = LoggerFactory.getLogger(UploadController.class);
+
+    @Value("${uploads.cache.max-age-days:365}") // immutable 파일 캐시 기간 (일)
+    private long maxAgeDays;
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 디코딩된 경로 (../ 등은 UploadFileService 가 업로드 디렉토리 밖이면 거부)
+        String uri = URL_PATH_HELPER.getPathWithinApplication(request);
+        Optional<UploadFile> found = uploadFileService.resolve(uri.substring(PATH_PREFIX.length()));
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        UploadFile file = found.get();
+
+        response.setHeader(HttpHeaders.ETAG, file.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.getLastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.isImmutable()
+                ? CacheControl.maxAge(Duration.ofDays(maxAgeDays)).cachePublic().immutable().getHeaderValue()
+                : CacheControl.noCache().cachePublic().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, file)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeApplies(request, file)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    // 파일 크기를 벗어난 구간
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = length == 0 ? 0 : end - start + 1;
+        response.setContentType(file.getMediaType().toString());
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // 컨테이너가 sendfile 을 지원하면 본문을 직접 쓰지 않고 파일 구간만 넘김 (힙 버퍼 없음)
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            // 클라이언트가 중간에 끊은 경우 등
+            logger.debug("업로드 파일 전송 중단: {}, {}", uri, e.getMessage());
+        }
+    }
+
+    private static UrlPathHelper createUrlPathHelper() {
+        UrlPathHelper helper = new UrlPathHelper();
+        helper.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        return helper;
+    }
+
+    // If-None-Match 가 있으면 그것만, 없으면 If-Modified-Since 로 판단
+    private boolean notModified(HttpServletRequest request, UploadFile file) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(file.getEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && file.getLastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체 응답
+    private boolean rangeApplies(HttpServletRequest request, UploadFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.trim().equals(file.getEtag());
+    }
+}
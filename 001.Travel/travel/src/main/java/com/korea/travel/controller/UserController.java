@@ -270,6 +270,8 @@ public class UserController {
                 .userNickName(user.getUserNickName())
                 .userName(user.getUserName())
                 .userProfileImage(user.getUserProfileImage())
+                .userProfileThumbnail(service.getProfileThumbnail(user.getUserProfileImage()))
+                .userProfileMedium(service.getProfileMedium(user.getUserProfileImage()))
                 .build();
             
             return ResponseEntity.ok(userDTO);
@@ -0,0 +1,18 @@
+package com.korea.travel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceDTO {
+	
+	private Long placeId;		// 장소 id
+	private String placeName;	// 장소명
+	private int postCount;		// 이 장소를 언급한 게시글 수
+	
+}
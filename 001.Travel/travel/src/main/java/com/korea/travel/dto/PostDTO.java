@@ -18,6 +18,7 @@ public class PostDTO {
 	private String userNickname;
 	private List<String> placeList;
 	private List<String> imageUrls;
+	private List<String> mediumImageUrls;	//imageUrls 와 같은 순서의 중간 크기(1024px) 이미지 (생성 전이면 원본)
 	private String thumbnail;
 	private int likes;
 	private String postCreatedAt;	//게시글등록시간
@@ -0,0 +1,26 @@
+package com.korea.travel.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostEventDTO {
+	
+	// 이벤트 종류 (같은 게시글의 이벤트가 합쳐질 때는 뒤쪽 종류가 우선)
+	public enum Type { LIKES, UPDATED, CREATED, DELETED }
+	
+	private Type type;		// 이벤트 종류
+	private Long postId;	// 게시글 id
+	
+	// 현재 좋아요 수 (좋아요 변경이 포함된 이벤트에만)
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer likes;
+	
+}
@@ -0,0 +1,32 @@
+package com.korea.travel.dto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSummaryDTO {
+	
+	// 게시판 목록 카드용 경량 DTO (본문/장소/이미지 목록 제외)
+	private Long postId;			//고유 id
+	private Long userId;
+	private String postTitle;		//게시글제목
+	private String userNickname;
+	private String thumbnail;		//대표 이미지 (첫 번째 이미지)
+	private int likes;
+	private String postCreatedAt;	//게시글등록시간
+	
+	// PostRepository 프로젝션 쿼리(JPQL constructor expression)용 생성자
+	public PostSummaryDTO(Long postId, Long userId, String postTitle, String userNickname,
+			Integer likes, String postCreatedAt) {
+		this.postId = postId;
+		this.userId = userId;
+		this.postTitle = postTitle;
+		this.userNickname = userNickname;
+		this.likes = likes != null ? likes : 0;
+		this.postCreatedAt = postCreatedAt;
+	}
+	
+}
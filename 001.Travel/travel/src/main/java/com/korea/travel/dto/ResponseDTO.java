@@ -2,6 +2,8 @@ package com.korea.travel.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,5 +18,13 @@ public class ResponseDTO<T> {
 	
 	private String error;
 	private List<T> data;
+	
+	// 다음 페이지 조회용 커서 (마지막 페이지이거나 페이지네이션을 쓰지 않으면 null)
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
+	
+	// 일괄 조회에서 찾지 못한 ID 목록 (없으면 생략)
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<Long> missingIds;
 
 }
@@ -0,0 +1,17 @@
+package com.korea.travel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPostDTO {
+	
+	private Long postId;	// 게시글 id
+	private double score;	// 시간 감쇠가 적용된 좋아요 점수
+	
+}
@@ -21,6 +21,8 @@ public class UserDTO {
 	private String userPassword;	//비밀번호
 	private String newPassword;		//비밀번호
 	private String userProfileImage;//프로필이미지
+	private String userProfileThumbnail;//프로필이미지 썸네일 (생성 전이면 null)
+	private String userProfileMedium;//프로필이미지 중간 크기 1024px (생성 전이면 null)
 	private String token;			//토큰
 	
 	
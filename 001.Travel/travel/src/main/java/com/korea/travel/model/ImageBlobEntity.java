@@ -0,0 +1,51 @@
+package com.korea.travel.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 내용 주소 이미지 저장소의 파일 하나 ({sha256}.{확장자}) - 게시글 이미지/프로필 사진이 참조하는 수를 관리
+@Data
+@Builder
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "image_blobs")
+public class ImageBlobEntity {
+	
+	@Id
+	@Column(name = "file_name", length = 80)
+	private String fileName;		//저장 파일명 ({sha256}.{확장자})
+	
+	@Column(name = "sha256", nullable = false, length = 64)
+	private String sha256;			//내용 해시
+	
+	@Column(name = "size_bytes", nullable = false)
+	private long sizeBytes;			//파일 크기
+	
+	@Column(name = "ref_count", nullable = false)
+	private int refCount;			//post_images / users.userProfileImage 에서 참조하는 수
+	
+	@Column(name = "width")
+	private Integer width;			//원본 가로 (파생 이미지 생성 후 기록)
+	
+	@Column(name = "height")
+	private Integer height;			//원본 세로
+	
+	@Column(name = "derivatives_ready", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+	private boolean derivativesReady;	//썸네일/중간 크기 이미지 생성 완료 여부
+	
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+	
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;	//마지막 참조 수 변경 시각
+	
+}
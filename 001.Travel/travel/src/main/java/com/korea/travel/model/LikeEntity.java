@@ -8,9 +8,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +20,12 @@ import lombok.NoArgsConstructor;
 import jakarta.persistence.ForeignKey;
 
 @Data
-@Table(name = "likes")
+// 한 사용자는 게시글당 좋아요 하나 - 동시 요청의 중복 삽입을 DB 가 막음 (INSERT IGNORE 의 기준)
+// 기존 DB 에는 db/migration/likes_unique_key.sql 로 중복 정리 후 추가
+// 사용자별 좋아요 게시글 목록은 (user_id, user_type, post_id) 인덱스만으로 조회
+@Table(name = "likes", uniqueConstraints = @UniqueConstraint(name = "uk_likes_post_user",
+        columnNames = {"post_id", "user_id", "user_type"}),
+        indexes = @Index(name = "idx_likes_user_post", columnList = "user_id, user_type, post_id"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,37 @@
+package com.korea.travel.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 장소 사전 - post_places 의 자유 입력 장소명을 정규화한 이름 하나당 한 행
+@Data
+@Builder
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "places", indexes = @Index(name = "idx_places_post_count", columnList = "post_count"))
+public class PlaceEntity {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;				//고유 id
+	
+	@Column(name = "canonical_name", nullable = false, unique = true)
+	private String canonicalName;	//정규화된 장소명 (공백 제거, 소문자)
+	
+	@Column(name = "display_name", nullable = false)
+	private String displayName;		//화면 표시용 장소명 (처음 등록된 표기)
+	
+	@Column(name = "post_count", nullable = false)
+	private int postCount;			//이 장소를 언급한 게시글 수
+	
+}
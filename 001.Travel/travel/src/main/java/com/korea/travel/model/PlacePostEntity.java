@@ -0,0 +1,37 @@
+package com.korea.travel.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 장소 -> 게시글 역색인 ((place_id, post_id) 유니크 인덱스로 장소별 게시글을 최신순 조회)
+@Data
+@Builder
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "place_posts",
+		uniqueConstraints = @UniqueConstraint(name = "uk_place_posts_place_post", columnNames = {"place_id", "post_id"}),
+		indexes = @Index(name = "idx_place_posts_post_id", columnList = "post_id"))
+public class PlacePostEntity {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;				//고유 id
+	
+	@Column(name = "place_id", nullable = false)
+	private Long placeId;
+	
+	@Column(name = "post_id", nullable = false)
+	private Long postId;
+	
+}
@@ -1,6 +1,8 @@
 package com.korea.travel.model;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
@@ -10,9 +12,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,6 +28,11 @@ import lombok.NoArgsConstructor;
 @Builder
 @Table(name = "posts")
 @Entity
+// 게시글 상세 조회용 fetch plan - 작성자와 이미지를 한 번의 조인으로 로딩 (장소 목록은 배치 로딩)
+@NamedEntityGraph(name = "PostEntity.detail", attributeNodes = {
+        @NamedAttributeNode("userEntity"),
+        @NamedAttributeNode("imageUrls")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class PostEntity {
@@ -39,14 +50,20 @@ public class PostEntity {
     @Column(nullable = false)
     private String userNickname;
     
-    @ElementCollection(fetch = FetchType.EAGER)
+    // 목록 조회 시 게시글마다 추가 select가 나가지 않도록 LAZY + 배치 로딩
+    @BatchSize(size = 100)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "post_places", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "place_list")
     private List<String> placeList;
     
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "post_images", joinColumns = @JoinColumn(name = "post_id"))
+    @BatchSize(size = 100)
+    @ElementCollection(fetch = FetchType.LAZY)
+    // image_urls 인덱스 - 파생 이미지가 준비됐을 때 그 이미지를 쓰는 게시글 조회용
+    @CollectionTable(name = "post_images", joinColumns = @JoinColumn(name = "post_id"),
+            indexes = @Index(name = "idx_post_images_url", columnList = "image_urls"))
     @Column(name = "image_urls")
+    @OrderColumn(name = "image_order") // 업로드 순서 유지 - 첫 번째 이미지가 썸네일 (기존 DB 는 db/migration/post_images_order.sql)
     private List<String> imageUrls;
     
     private String postCreatedAt;
@@ -59,16 +76,21 @@ public class PostEntity {
     private String socialId;           // 소셜 로그인 ID 값
     
     // UserEntity와의 연관 관계 설정 (ManyToOne)
-    @ManyToOne(fetch = FetchType.EAGER)  // 다대일 관계 user가 여러 게시글을 쓸수있게해준다.
+    @ManyToOne(fetch = FetchType.LAZY)  // 다대일 관계 user가 여러 게시글을 쓸수있게해준다.
     @JoinColumn(name = "user_id")       // 외래 키 컬럼명
     private UserEntity userEntity;            // 해당 게시글을 작성한 UserEntity
     
     // 좋아요를 눌렀던 유저들과의 관계 (OneToMany)
     @OneToMany(mappedBy = "postEntity", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<LikeEntity> likeEntities; // 좋아요 엔티티 리스트
-    // 좋아요 수 계산
-    public int getLikeCount() {
-        return likeEntities.size();  // LikeEntity 리스트의 크기 반환
-    }
+    
+    // 좋아요 수 (비정규화 컬럼) - likes 테이블 COUNT 없이 바로 조회
+    // PostRepository의 UPDATE 쿼리로만 증감하며, 게시글 수정(save) 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
+    private int likeCount;
+    
+    // 게시글 리비전 - 수정/좋아요 변경 시 PostRepository UPDATE 쿼리로 1씩 증가 (ETag 생성용)
+    @Column(name = "revision", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long revision;
     
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.korea.travel.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -19,6 +21,7 @@ import lombok.NoArgsConstructor;
 @Data
 @Table(name = "users")
 @Entity
+@BatchSize(size = 100) // 게시글 목록에서 작성자 프록시를 한 번에 로딩
 @Builder
 @AllArgsConstructor 
 @NoArgsConstructor
@@ -0,0 +1,46 @@
+package com.korea.travel.persistence;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.korea.travel.model.ImageBlobEntity;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlobEntity, String> {
+	
+	// 참조 추가 - 처음 저장되는 파일이면 ref_count 1 로 생성, 이미 있으면 +1 (동시 요청에도 한 행)
+	@Modifying
+	@Query(value = "INSERT INTO image_blobs (file_name, sha256, size_bytes, ref_count, created_at, updated_at) "
+			+ "VALUES (:fileName, :sha256, :sizeBytes, 1, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()",
+			nativeQuery = true)
+	int acquire(@Param("fileName") String fileName, @Param("sha256") String sha256, @Param("sizeBytes") long sizeBytes);
+	
+	// 참조 해제
+	@Modifying
+	@Query("UPDATE ImageBlobEntity b SET b.refCount = b.refCount - 1, b.updatedAt = CURRENT_TIMESTAMP "
+			+ "WHERE b.fileName = :fileName AND b.refCount > 0")
+	int release(@Param("fileName") String fileName);
+	
+	// 참조가 없는 행 삭제 - 삭제됐으면 1 (파일도 지워도 됨)
+	@Modifying
+	@Query("DELETE FROM ImageBlobEntity b WHERE b.fileName = :fileName AND b.refCount = 0")
+	int deleteIfUnreferenced(@Param("fileName") String fileName);
+	
+	// 파생 이미지 생성 완료 + 원본 크기 기록
+	@Modifying
+	@Query("UPDATE ImageBlobEntity b SET b.width = :width, b.height = :height, b.derivativesReady = true "
+			+ "WHERE b.fileName = :fileName")
+	int markDerivativesReady(@Param("fileName") String fileName, @Param("width") int width, @Param("height") int height);
+	
+	// 파생 이미지가 준비된 파일명
+	@Query("SELECT b.fileName FROM ImageBlobEntity b WHERE b.fileName IN :fileNames AND b.derivativesReady = true")
+	List<String> findReadyFileNames(@Param("fileNames") Collection<String> fileNames);
+	
+}
@@ -1,9 +1,13 @@
 package com.korea.travel.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.korea.travel.model.LikeEntity;
 import com.korea.travel.model.LikeEntity.UserType;
@@ -14,4 +18,30 @@ public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
    Optional<LikeEntity> findByUserIdAndUserTypeAndPostEntity(Long userId, UserType userType, PostEntity postEntity);
    
    int countByPostEntity(PostEntity postEntity);
+   
+   // 게시글 엔티티를 로딩하지 않고 좋아요 존재 여부 확인 (write-behind 버퍼 기준 상태)
+   boolean existsByUserIdAndUserTypeAndPostEntity_PostId(Long userId, UserType userType, Long postId);
+   
+   // 좋아요 추가 (멱등) - 이미 있으면 아무것도 바꾸지 않음 (uk_likes_post_user 기준)
+   // 삽입 1, 이미 있거나 없는 게시글(FK 위반)이면 0
+   // (ON DUPLICATE KEY UPDATE 는 Connector/J 기본 설정(useAffectedRows=false)에서 중복에도 1 을 돌려주므로 사용하지 않음)
+   @Modifying
+   @Query(value = "INSERT IGNORE INTO likes (post_id, user_id, user_type) VALUES (:postId, :userId, :userType)",
+           nativeQuery = true)
+   int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId, @Param("userType") String userType);
+   
+   // 좋아요 삭제 (멱등) - 삭제한 행 수
+   @Modifying
+   @Query("DELETE FROM LikeEntity l WHERE l.postEntity.postId = :postId AND l.userId = :userId AND l.userType = :userType")
+   int deleteByKey(@Param("postId") Long postId, @Param("userId") Long userId, @Param("userType") UserType userType);
+   
+   // 주어진 게시글 중 사용자가 좋아요를 누른 게시글 ID (uk_likes_post_user 인덱스 조회 한 번)
+   @Query("SELECT l.postEntity.postId FROM LikeEntity l "
+           + "WHERE l.userId = :userId AND l.userType = :userType AND l.postEntity.postId IN :postIds")
+   List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("userType") UserType userType,
+           @Param("postIds") Collection<Long> postIds);
+   
+   // 사용자가 좋아요를 누른 모든 게시글 ID (idx_likes_user_post 인덱스만 읽음)
+   @Query("SELECT l.postEntity.postId FROM LikeEntity l WHERE l.userId = :userId AND l.userType = :userType")
+   List<Long> findPostIdsByUser(@Param("userId") Long userId, @Param("userType") UserType userType);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.korea.travel.persistence;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.korea.travel.model.PlacePostEntity;
+
+@Repository
+public interface PlacePostRepository extends JpaRepository<PlacePostEntity, Long> {
+	
+	// 게시글에 연결된 장소 ID 목록
+	@Query("SELECT pp.placeId FROM PlacePostEntity pp WHERE pp.postId = :postId")
+	List<Long> findPlaceIdsByPostId(@Param("postId") Long postId);
+	
+	// 장소별 게시글 ID - 최신순 첫 페이지
+	@Query("SELECT pp.postId FROM PlacePostEntity pp WHERE pp.placeId = :placeId ORDER BY pp.postId DESC")
+	List<Long> findPostIds(@Param("placeId") Long placeId, Pageable pageable);
+	
+	// 장소별 게시글 ID - 커서(postId) 이후 페이지
+	@Query("SELECT pp.postId FROM PlacePostEntity pp WHERE pp.placeId = :placeId AND pp.postId < :cursor ORDER BY pp.postId DESC")
+	List<Long> findPostIdsBefore(@Param("placeId") Long placeId, @Param("cursor") Long cursor, Pageable pageable);
+	
+	@Modifying
+	@Query("DELETE FROM PlacePostEntity pp WHERE pp.postId = :postId AND pp.placeId IN :placeIds")
+	int deleteByPostIdAndPlaceIds(@Param("postId") Long postId, @Param("placeIds") Collection<Long> placeIds);
+	
+}
@@ -0,0 +1,46 @@
+package com.korea.travel.persistence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.korea.travel.model.PlaceEntity;
+
+@Repository
+public interface PlaceRepository extends JpaRepository<PlaceEntity, Long> {
+	
+	Optional<PlaceEntity> findByCanonicalName(String canonicalName);
+	
+	List<PlaceEntity> findByCanonicalNameIn(Collection<String> canonicalNames);
+	
+	// 가장 많이 언급된 장소 (post_count 인덱스)
+	List<PlaceEntity> findByPostCountGreaterThanOrderByPostCountDesc(int postCount, Pageable pageable);
+	
+	// 동시에 같은 장소가 처음 등록돼도 중복 행/예외 없이 한 행만 생성
+	// 이미 있으면 그 행의 id 를 LAST_INSERT_ID 로 돌려줌 (트랜잭션 스냅샷과 무관하게 바로 selectLastInsertId 로 조회)
+	@Modifying
+	@Query(value = "INSERT INTO places (canonical_name, display_name, post_count) VALUES (:canonicalName, :displayName, 0) "
+			+ "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)",
+			nativeQuery = true)
+	int upsert(@Param("canonicalName") String canonicalName, @Param("displayName") String displayName);
+	
+	// 같은 커넥션에서 직전 upsert 로 생성되었거나 이미 있던 장소 ID
+	@Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+	Long selectLastInsertId();
+	
+	@Modifying
+	@Query("UPDATE PlaceEntity p SET p.postCount = p.postCount + 1 WHERE p.id IN :ids")
+	int incrementPostCount(@Param("ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query("UPDATE PlaceEntity p SET p.postCount = p.postCount - 1 WHERE p.id IN :ids AND p.postCount > 0")
+	int decrementPostCount(@Param("ids") Collection<Long> ids);
+	
+}
@@ -1,16 +1,134 @@
 package com.korea.travel.persistence;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.korea.travel.dto.PostSummaryDTO;
 import com.korea.travel.model.PostEntity;
 import com.korea.travel.model.UserEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 	
 	List<PostEntity> findByUserEntity(UserEntity userEntity);
 	
+	// 전체 게시글 + 작성자 fetch join (장소/이미지는 @BatchSize로 배치 로딩)
+	@Query("SELECT p FROM PostEntity p LEFT JOIN FETCH p.userEntity")
+	List<PostEntity> findAllWithUser();
+	
+	// 게시글 상세 조회 - PostEntity.detail 엔티티 그래프 사용
+	@EntityGraph("PostEntity.detail")
+	Optional<PostEntity> findWithDetailByPostId(Long postId);
+	
+	// 커서(keyset) 페이지네이션 - 첫 페이지 (PK 인덱스 역순, OFFSET 없이 LIMIT 만 사용)
+	// 목록 카드에 필요한 컬럼만 조회 (본문 TEXT, 장소/이미지 컬렉션 제외)
+	@Query("SELECT new com.korea.travel.dto.PostSummaryDTO(p.postId, u.id, p.postTitle, p.userNickname, p.likeCount, p.postCreatedAt) "
+			+ "FROM PostEntity p LEFT JOIN p.userEntity u ORDER BY p.postId DESC")
+	List<PostSummaryDTO> findSummaries(Pageable pageable);
+	
+	// 커서(keyset) 페이지네이션 - 커서(postId) 이후 페이지
+	@Query("SELECT new com.korea.travel.dto.PostSummaryDTO(p.postId, u.id, p.postTitle, p.userNickname, p.likeCount, p.postCreatedAt) "
+			+ "FROM PostEntity p LEFT JOIN p.userEntity u WHERE p.postId < :cursor ORDER BY p.postId DESC")
+	List<PostSummaryDTO> findSummariesBefore(@Param("cursor") Long cursor, Pageable pageable);
+	
+	// 지정한 게시글들의 요약 조회 (검색 결과 등) - 순서는 호출 측에서 맞춘다
+	@Query("SELECT new com.korea.travel.dto.PostSummaryDTO(p.postId, u.id, p.postTitle, p.userNickname, p.likeCount, p.postCreatedAt) "
+			+ "FROM PostEntity p LEFT JOIN p.userEntity u WHERE p.postId IN :postIds")
+	List<PostSummaryDTO> findSummariesByPostIds(@Param("postIds") Collection<Long> postIds);
+	
+	// 검색 색인 재구성용 - postId 이후의 [postId, postTitle, postContent]
+	@Query("SELECT p.postId, p.postTitle, p.postContent FROM PostEntity p WHERE p.postId > :postId ORDER BY p.postId")
+	List<Object[]> findIndexSourcesAfter(@Param("postId") Long postId, Pageable pageable);
+	
+	// 전체 내보내기용 스트림 - postId 이후 게시글을 fetch size 단위로 읽음 (읽기 전용 트랜잭션 안에서만 사용)
+	// MySQL 은 useCursorFetch=true 여야 서버 커서로 fetch size 만큼씩 가져온다 (DataSourceConfig 에서 설정)
+	@QueryHints({
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query("SELECT p FROM PostEntity p LEFT JOIN FETCH p.userEntity WHERE p.postId > :postId ORDER BY p.postId")
+	Stream<PostEntity> streamAfter(@Param("postId") Long postId);
+	
+	// postId 이후의 게시글 ID (keyset 배치 처리용)
+	@Query("SELECT p.postId FROM PostEntity p WHERE p.postId > :postId ORDER BY p.postId")
+	List<Long> findPostIdsAfter(@Param("postId") Long postId, Pageable pageable);
+	
+	// 장소가 있는데 장소 역색인(place_posts)에 연결이 하나도 없는 가장 오래된 게시글 ID (장소 사전 구성 재개 지점)
+	@Query("SELECT MIN(p.postId) FROM PostEntity p JOIN p.placeList pl WHERE TRIM(pl) <> '' "
+			+ "AND NOT EXISTS (SELECT 1 FROM PlacePostEntity pp WHERE pp.postId = p.postId)")
+	Optional<Long> findFirstPostIdWithoutPlaceIndex();
+	
+	// 여러 게시글의 장소 목록을 한 번에 조회 - [postId, place]
+	@Query("SELECT p.postId, pl FROM PostEntity p JOIN p.placeList pl WHERE p.postId IN :postIds")
+	List<Object[]> findPlacesByPostIds(@Param("postIds") Collection<Long> postIds);
+	
+	// 게시글이 참조하는 모든 이미지 URL (업로드 파일 정리용)
+	@Query("SELECT DISTINCT i FROM PostEntity p JOIN p.imageUrls i")
+	List<String> findAllImageUrls();
+	
+	// 여러 게시글의 좋아요 수를 한 번에 조회 (변경 이벤트용) - [postId, likeCount]
+	@Query("SELECT p.postId, p.likeCount FROM PostEntity p WHERE p.postId IN :postIds")
+	List<Object[]> findLikeCountsByPostIds(@Param("postIds") Collection<Long> postIds);
+	
+	// 여러 게시글의 이미지 URL을 한 번에 조회 (썸네일용) - [postId, imageUrl], 게시글별 이미지 순서대로
+	@Query("SELECT p.postId, i FROM PostEntity p JOIN p.imageUrls i WHERE p.postId IN :postIds ORDER BY p.postId, INDEX(i)")
+	List<Object[]> findImageUrlsByPostIds(@Param("postIds") Collection<Long> postIds);
+	
+	// 좋아요 수만 조회 (게시글 전체를 로딩하지 않음)
+	@Query("SELECT p.likeCount FROM PostEntity p WHERE p.postId = :postId")
+	Optional<Integer> findLikeCountByPostId(@Param("postId") Long postId);
+	
+	// 좋아요 수 원자적 증가 (UPDATE ... SET like_count = like_count + 1)
+	@Modifying
+	@Query("UPDATE PostEntity p SET p.likeCount = p.likeCount + 1, p.revision = p.revision + 1 WHERE p.postId = :postId")
+	int incrementLikeCount(@Param("postId") Long postId);
+	
+	// 좋아요 수 원자적 감소 (0 미만으로 내려가지 않음)
+	@Modifying
+	@Query("UPDATE PostEntity p SET p.likeCount = p.likeCount - 1, p.revision = p.revision + 1 WHERE p.postId = :postId AND p.likeCount > 0")
+	int decrementLikeCount(@Param("postId") Long postId);
+	
+	// 게시글 리비전 원자적 증가 (게시글 수정 시)
+	@Modifying
+	@Query("UPDATE PostEntity p SET p.revision = p.revision + 1 WHERE p.postId = :postId")
+	int incrementRevision(@Param("postId") Long postId);
+	
+	// 여러 게시글 리비전 원자적 증가 (파생 이미지 준비 시)
+	@Modifying
+	@Query("UPDATE PostEntity p SET p.revision = p.revision + 1 WHERE p.postId IN :postIds")
+	int incrementRevisions(@Param("postIds") Collection<Long> postIds);
+	
+	// 이미지 URL 을 사용하는 게시글 ID (post_images.image_urls 인덱스)
+	@Query("SELECT DISTINCT p.postId FROM PostEntity p JOIN p.imageUrls u WHERE u = :imageUrl")
+	List<Long> findPostIdsByImageUrl(@Param("imageUrl") String imageUrl);
+	
+	// 게시글 리비전만 조회 (상세 조회 ETag용)
+	@Query("SELECT p.revision FROM PostEntity p WHERE p.postId = :postId")
+	Optional<Long> findRevisionByPostId(@Param("postId") Long postId);
+	
+	// 사용자별 게시판 변경 감지용 지문
+	@Query("SELECT COUNT(p) AS postCount, MAX(p.postId) AS maxPostId, SUM(p.revision) AS revisionSum "
+			+ "FROM PostEntity p WHERE p.userEntity.id = :userId")
+	Fingerprint findFingerprintByUserId(@Param("userId") Long userId);
+	
+	// 게시판 지문 프로젝션 (게시글이 없으면 maxPostId / revisionSum 은 null)
+	interface Fingerprint {
+		Long getPostCount();
+		Long getMaxPostId();
+		Long getRevisionSum();
+	}
+	
 }
@@ -1,8 +1,10 @@
 package com.korea.travel.persistence;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.korea.travel.model.UserEntity;
@@ -22,4 +24,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 			String userId, String userName, String userPhoneNumber
 		);
 		
+		// 사용자가 참조하는 모든 프로필 사진 URL (업로드 파일 정리용)
+		@Query("SELECT u.userProfileImage FROM UserEntity u WHERE u.userProfileImage IS NOT NULL")
+		List<String> findAllProfileImages();
+		
 }
@@ -0,0 +1,49 @@
+package com.korea.travel.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 n-gram 토크나이저
+ * - 한글은 형태소 분석 없이도 부분 일치가 되도록 글자 단위 bigram 으로 분리 ("제주도" -> "제주", "주도")
+ * - 영문/숫자도 동일하게 소문자 bigram, 한 글자 단어는 unigram 으로 색인
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return grams;
+        }
+
+        // 전각/반각, 조합형 한글 등을 정규화한 뒤 소문자로 통일
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addGrams(normalized, start, i, grams);
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static void addGrams(String text, int start, int end, List<String> grams) {
+        if (end - start == 1) {
+            grams.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.korea.travel.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글 인메모리 역색인 (n-gram -> postId -> 가중 빈도)
+ * - 제목/장소/본문 순으로 가중치를 두고 tf-idf 로 점수 계산
+ * - PostService 의 작성/수정/삭제 시 증분 갱신, 시작 시 PostSearchIndexLoader 가 MySQL 에서 재구성
+ * - 트랜잭션 안에서 호출되면 커밋 이후에 반영 (롤백된 작성/수정/삭제가 색인에 남지 않도록)
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int PLACE_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    // gram -> (postId -> 가중 빈도)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // postId -> 해당 게시글이 가진 gram 목록 (수정/삭제 시 postings 정리용)
+    private final Map<Long, Collection<String>> documents = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 게시글 색인 (이미 색인된 게시글이면 교체)
+    public void index(Long postId, String title, String content, Collection<String> places) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, title, TITLE_WEIGHT);
+        addField(frequencies, content, CONTENT_WEIGHT);
+        if (places != null) {
+            places.forEach(place -> addField(frequencies, place, PLACE_WEIGHT));
+        }
+
+        // 빈도는 지금 계산 (커밋 이후에는 엔티티 값이 바뀌었을 수 있음)
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeInternal(postId);
+                frequencies.forEach((gram, frequency) ->
+                        postings.computeIfAbsent(gram, key -> new HashMap<>()).put(postId, frequency));
+                documents.put(postId, new ArrayList<>(frequencies.keySet()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 게시글 색인 삭제
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeInternal(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 트랜잭션 안이면 커밋 이후에, 아니면 바로 실행
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // 검색 - 점수 내림차순(동점이면 최신 게시글 우선)으로 offset 부터 limit 건의 postId 반환
+    public Result search(String query, int offset, int limit) {
+        List<String> grams = NGramTokenizer.tokenize(query);
+        if (grams.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            for (String gram : grams) {
+                Map<Long, Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documentCount / posting.size());
+                posting.forEach((postId, frequency) -> scores.merge(postId, frequency * idf, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new Result(ranked, scores.size());
+    }
+
+    // 색인된 게시글 수
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addField(Map<String, Integer> frequencies, String text, int weight) {
+        for (String gram : NGramTokenizer.tokenize(text)) {
+            frequencies.merge(gram, weight, Integer::sum);
+        }
+    }
+
+    private void removeInternal(Long postId) {
+        Collection<String> grams = documents.remove(postId);
+        if (grams == null) {
+            return;
+        }
+        for (String gram : grams) {
+            Map<Long, Integer> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(postId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // 검색 결과 (현재 페이지의 postId 목록 + 전체 일치 건수)
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final List<Long> postIds;
+        private final int total;
+    }
+}
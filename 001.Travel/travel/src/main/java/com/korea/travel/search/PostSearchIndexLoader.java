@@ -0,0 +1,66 @@
+package com.korea.travel.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.korea.travel.persistence.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 애플리케이션 시작 시 MySQL 의 게시글로 검색 색인을 재구성
+ * - postId 기준 keyset 으로 BATCH_SIZE 건씩 제목/본문/장소만 조회 (엔티티를 로딩하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndexLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+
+    private final Logger logger = LoggerFactory.getLogger(PostSearchIndexLoader.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long lastPostId = 0L;
+        int indexed = 0;
+
+        while (true) {
+            // [postId, postTitle, postContent]
+            List<Object[]> rows = postRepository.findIndexSourcesAfter(lastPostId, PageRequest.of(0, BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Long> postIds = new ArrayList<>(rows.size());
+            rows.forEach(row -> postIds.add((Long) row[0]));
+
+            Map<Long, List<String>> places = new HashMap<>();
+            for (Object[] place : postRepository.findPlacesByPostIds(postIds)) {
+                places.computeIfAbsent((Long) place[0], key -> new ArrayList<>()).add((String) place[1]);
+            }
+
+            for (Object[] row : rows) {
+                Long postId = (Long) row[0];
+                postSearchIndex.index(postId, (String) row[1], (String) row[2], places.get(postId));
+            }
+
+            indexed += rows.size();
+            lastPostId = postIds.get(postIds.size() - 1);
+        }
+
+        logger.info("검색 색인 재구성 완료: {}개 게시글, {}ms", indexed, System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,206 @@
+package com.korea.travel.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * 메일 발송 대기열 (outbox)
+ * - 요청 스레드는 메시지를 넣기만 하고 바로 반환, 발송은 워커 스레드가 담당
+ * - 워커마다 SMTP 연결 하나를 유지하며 여러 메시지를 보냄 (mail.outbox.idle-close-ms 동안 쉬면 닫음)
+ * - 실패하면 지수 백오프로 재시도 (mail.outbox.backoff-ms * 2^(시도-1), 최대 mail.outbox.max-backoff-ms)
+ * - 대기열이 가득 차면 enqueue 가 false (호출 쪽에서 실패 응답)
+ * - 지표: mail.outbox.queue.depth, mail.outbox.delivery{outcome}, mail.outbox.retries, mail.outbox.dropped
+ */
+@Service
+public class EmailOutbox {
+
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(EmailOutbox.class);
+
+    @Value("${mail.outbox.capacity:1000}") // 대기열 최대 메시지 수
+    private int capacity;
+
+    @Value("${mail.outbox.workers:2}") // 발송 워커 수 (= 유지하는 SMTP 연결 수)
+    private int workers;
+
+    @Value("${mail.outbox.max-attempts:5}") // 메시지당 최대 발송 시도 수
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-ms:1000}") // 첫 재시도 대기 시간
+    private long backoffMs;
+
+    @Value("${mail.outbox.max-backoff-ms:60000}") // 재시도 대기 시간 상한
+    private long maxBackoffMs;
+
+    @Value("${mail.outbox.idle-close-ms:30000}") // 이 시간 동안 보낼 메일이 없으면 SMTP 연결 종료
+    private long idleCloseMs;
+
+    private BlockingQueue<Envelope> queue;
+    private ScheduledExecutorService retryScheduler;
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public EmailOutbox(JavaMailSender mailSender, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(capacity);
+        meterRegistry.gauge("mail.outbox.queue.depth", queue, BlockingQueue::size);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        AtomicInteger sequence = new AtomicInteger();
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::work, "mail-outbox-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+            workerThreads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        for (Thread thread : workerThreads) {
+            thread.interrupt();
+        }
+        for (Thread thread : workerThreads) {
+            thread.join(5000);
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("종료 시 발송하지 못한 메일: {}건", queue.size());
+        }
+    }
+
+    // 발송 예약 - 대기열이 가득 찼으면 false
+    public boolean enqueue(MimeMessage message) {
+        boolean accepted = queue.offer(new Envelope(message));
+        if (!accepted) {
+            meterRegistry.counter("mail.outbox.dropped").increment();
+            logger.warn("메일 대기열이 가득 차 발송 요청을 거절함");
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void work() {
+        Transport transport = null;
+        while (running) {
+            Envelope envelope;
+            try {
+                envelope = queue.poll(idleCloseMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (envelope == null) {
+                // 한동안 보낼 메일이 없으면 연결 정리
+                transport = close(transport);
+                continue;
+            }
+            try {
+                transport = deliver(envelope, transport);
+                meterRegistry.timer("mail.outbox.delivery", "outcome", "success")
+                        .record(System.nanoTime() - envelope.enqueuedAt, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                // 연결 상태를 알 수 없으므로 다음 메시지는 새 연결로
+                transport = close(transport);
+                retry(envelope, e);
+            }
+        }
+        close(transport);
+    }
+
+    // JavaMailSenderImpl 이면 워커의 SMTP 연결을 재사용, 아니면 mailSender.send 에 위임
+    private Transport deliver(Envelope envelope, Transport transport) throws MessagingException {
+        MimeMessage message = envelope.message;
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            mailSender.send(message);
+            return transport;
+        }
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+        if (transport == null || !transport.isConnected()) {
+            close(transport);
+            transport = sender.getSession().getTransport(sender.getProtocol() != null ? sender.getProtocol() : "smtp");
+            transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        }
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+        return transport;
+    }
+
+    private void retry(Envelope envelope, Exception error) {
+        envelope.attempts++;
+        if (envelope.attempts >= maxAttempts || !running) {
+            meterRegistry.timer("mail.outbox.delivery", "outcome", "failed")
+                    .record(System.nanoTime() - envelope.enqueuedAt, TimeUnit.NANOSECONDS);
+            logger.error("메일 발송 최종 실패 ({}회 시도): {}", envelope.attempts, error.getMessage());
+            return;
+        }
+        long delay = Math.min(maxBackoffMs, backoffMs << Math.min(envelope.attempts - 1, 20));
+        meterRegistry.counter("mail.outbox.retries").increment();
+        logger.warn("메일 발송 실패, {}ms 후 재시도 ({}/{}): {}", delay, envelope.attempts, maxAttempts, error.getMessage());
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(envelope)) {
+                meterRegistry.counter("mail.outbox.dropped").increment();
+                logger.warn("메일 대기열이 가득 차 재시도 메일을 버림");
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("SMTP 연결 종료 실패: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static class Envelope {
+        private final MimeMessage message;
+        private final long enqueuedAt = System.nanoTime();
+        private int attempts;
+
+        Envelope(MimeMessage message) {
+            this.message = message;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.korea.travel.service;
 
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -17,29 +18,45 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final long AUTH_CODE_TTL_SECONDS = 10 * 60L; // 10분
+
     @Value("${spring.mail.username}")
     private String senderEmail;
 
+    @Value("${email.auth.cooldown-seconds:60}") // 같은 주소로 재전송 가능한 간격 (초)
+    private long cooldownSeconds;
+
+    @Value("${email.auth.max-attempts:5}") // 인증번호 하나당 최대 확인 시도 수
+    private int maxAttempts;
+
     private final JavaMailSender mailSender;
     private final RedisUtil redisUtil;
+    private final EmailOutbox emailOutbox;
 
     public EmailAuthResponseDto sendEmail(String toEmail) {
-        if (redisUtil.existData(toEmail)) {
-            redisUtil.deleteData(toEmail);
+        String authCode = String.valueOf(ThreadLocalRandom.current().nextInt(100000, 1000000));
+
+        // 인증번호 저장 + 재전송 쿨다운 + 시도 횟수 초기화를 한 번에 (Lua)
+        if (!redisUtil.setDataWithCooldown(codeKey(toEmail), authCode, AUTH_CODE_TTL_SECONDS,
+                cooldownKey(toEmail), cooldownSeconds, attemptsKey(toEmail))) {
+            return new EmailAuthResponseDto(false, "잠시 후 다시 요청해주세요.");
         }
 
         try {
-            MimeMessage emailForm = createEmailForm(toEmail);
-            mailSender.send(emailForm);
+            // 발송은 outbox 워커가 담당 (SMTP 응답을 기다리지 않음)
+            MimeMessage emailForm = createEmailForm(toEmail, authCode);
+            if (!emailOutbox.enqueue(emailForm)) {
+                redisUtil.deleteData(List.of(codeKey(toEmail), cooldownKey(toEmail)));
+                return new EmailAuthResponseDto(false, "메일 요청이 많아 잠시 후 다시 시도해주세요.");
+            }
             return new EmailAuthResponseDto(true, "인증번호가 메일로 전송되었습니다.");
         } catch (MessagingException | MailSendException e) {
+            redisUtil.deleteData(List.of(codeKey(toEmail), cooldownKey(toEmail)));
             return new EmailAuthResponseDto(false, "메일 전송 중 오류가 발생하였습니다. 다시 시도해주세요.");
         }
     }
 
-    private MimeMessage createEmailForm(String email) throws MessagingException {
-
-        String authCode = String.valueOf(ThreadLocalRandom.current().nextInt(100000, 1000000));
+    private MimeMessage createEmailForm(String email, String authCode) throws MessagingException {
 
         MimeMessage message = mailSender.createMimeMessage();
         message.setFrom(senderEmail);
@@ -47,8 +64,6 @@ public class EmailService {
         message.setSubject("인증코드입니다.");
         message.setText(setContext(authCode), "utf-8", "html");
 
-        redisUtil.setDataExpire(email, authCode, 10 * 60L); // 10분
-
         return message;
     }
 
@@ -59,17 +74,33 @@ public class EmailService {
         return body;
     }
 
+    // 확인 + 사용 처리 + 시도 횟수 집계를 한 번에 (Lua) - 성공한 인증번호는 다시 쓸 수 없음
     public EmailAuthResponseDto validateAuthCode(String email, String authCode) {
-        String findAuthCode = redisUtil.getData(email);
-        if (findAuthCode == null) {
-            return new EmailAuthResponseDto(false, "인증번호가 만료되었습니다. 다시 시도해주세요.");
+        RedisUtil.VerifyResult result = redisUtil.verifyAndConsume(codeKey(email), authCode,
+                attemptsKey(email), maxAttempts, AUTH_CODE_TTL_SECONDS);
+
+        switch (result) {
+            case VERIFIED:
+                return new EmailAuthResponseDto(true, "인증 성공에 성공했습니다.");
+            case MISMATCH:
+                return new EmailAuthResponseDto(false, "인증번호가 일치하지 않습니다.");
+            case TOO_MANY_ATTEMPTS:
+                return new EmailAuthResponseDto(false, "인증 시도 횟수를 초과했습니다. 인증번호를 다시 요청해주세요.");
+            default:
+                return new EmailAuthResponseDto(false, "인증번호가 만료되었습니다. 다시 시도해주세요.");
         }
+    }
+
+    // 같은 주소의 키는 같은 해시 슬롯에 두도록 {주소} 해시태그 사용
+    private static String codeKey(String email) {
+        return "email:auth:{" + email + "}:code";
+    }
 
-        if (findAuthCode.equals(authCode)) {
-            return new EmailAuthResponseDto(true, "인증 성공에 성공했습니다.");
+    private static String cooldownKey(String email) {
+        return "email:auth:{" + email + "}:cooldown";
+    }
 
-        } else {
-            return new EmailAuthResponseDto(false, "인증번호가 일치하지 않습니다.");
-        }
+    private static String attemptsKey(String email) {
+        return "email:auth:{" + email + "}:attempts";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.korea.travel.service;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시판 전체 버전 (게시판 조회 ETag 용)
+ * - key: post:feed:version, value: 발급할 때마다 새 임의 값
+ * - 게시글 생성/수정/삭제, 좋아요 변경 시 커밋 이후에 키를 지우면 다음 조회가 새 버전을 발급
+ *   (posts 전체 집계 없이 조회당 Redis GET 한 번)
+ * - 삭제가 실패해도 post.feed.version-ttl-seconds 가 지나면 새 버전으로 바뀜
+ * - Redis 장애 시 null -> ETag 없이 항상 전체 응답
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedVersionService {
+
+    private static final String KEY = "post:feed:version";
+
+    private final RedisUtil redisUtil;
+
+    private final Logger logger = LoggerFactory.getLogger(FeedVersionService.class);
+
+    @Value("${post.feed.version-ttl-seconds:3600}") // 버전 최대 유지 시간 (초)
+    private long ttlSeconds;
+
+    // 현재 버전 - 없으면 새로 발급 (동시에 발급하면 먼저 저장한 값을 모두 사용)
+    public String current() {
+        try {
+            String version = redisUtil.getData(KEY);
+            if (version != null) {
+                return version;
+            }
+            String issued = UUID.randomUUID().toString();
+            if (redisUtil.setDataIfAbsent(KEY, issued, ttlSeconds)) {
+                return issued;
+            }
+            return redisUtil.getData(KEY);
+        } catch (Exception e) {
+            logger.warn("게시판 버전 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 게시판 변경 - 트랜잭션 안이면 커밋 이후에 버전 폐기
+    // (커밋 전에 폐기하면 다른 요청이 이전 데이터로 새 버전을 받아 갈 수 있음)
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        try {
+            redisUtil.deleteData(KEY);
+        } catch (Exception e) {
+            logger.warn("게시판 버전 폐기 실패: {}", e.getMessage());
+        }
+    }
+}
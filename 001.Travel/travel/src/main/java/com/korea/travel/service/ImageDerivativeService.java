@@ -0,0 +1,248 @@
+package com.korea.travel.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.korea.travel.persistence.ImageBlobRepository;
+import com.korea.travel.persistence.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 업로드 이미지의 파생 이미지(썸네일/중간 크기) 생성
+ * - 내용 주소 저장소에 새 파일이 저장되면 별도 스레드 풀에서 비동기로 생성
+ * - 파생 이미지는 원본 옆에 {sha256}_{확장자}_thumb.jpg / {sha256}_{확장자}_medium.jpg 로 저장
+ *   (같은 내용이라도 확장자가 다르면 다른 원본이므로 파생 이미지도 따로 둔다)
+ * - 디코딩 전에 헤더의 가로x세로를 읽어 image.derivative.max-pixels 를 넘으면 건너뜀 (디코딩 메모리 제한)
+ * - 생성이 끝나면 image_blobs 에 원본 크기(width/height)와 준비 여부를 기록하고,
+ *   이 이미지를 쓰는 게시글의 리비전을 올리고 캐시를 비움 (ETag / 캐시된 DTO 가 원본 URL 에 머물지 않도록)
+ * - 아직 준비되지 않았거나 ImageIO 로 읽을 수 없는 형식이면 원본 URL 을 그대로 사용
+ */
+@Service
+public class ImageDerivativeService {
+
+    // 파생 이미지 종류 (긴 변 최대 길이)
+    public enum Variant {
+        THUMB("thumb", 320),
+        MEDIUM("medium", 1024);
+
+        private final String suffix;
+        private final int maxDimension;
+
+        Variant(String suffix, int maxDimension) {
+            this.suffix = suffix;
+            this.maxDimension = maxDimension;
+        }
+
+        public int getMaxDimension() {
+            return maxDimension;
+        }
+    }
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final PostRepository postRepository;
+    private final PostCacheService postCacheService;
+    private final FeedVersionService feedVersionService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    @Value("${image.derivative.pool-size:2}") // 파생 이미지 생성 스레드 수 (디코딩이 메모리를 많이 쓰므로 작게)
+    private int poolSize;
+
+    @Value("${image.derivative.queue-capacity:500}") // 대기 가능한 생성 작업 수 (넘치면 건너뜀)
+    private int queueCapacity;
+
+    @Value("${image.derivative.max-pixels:40000000}") // 디코딩할 최대 픽셀 수 (픽셀당 4바이트, 넘으면 원본만 사용)
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+
+    public ImageDerivativeService(ImageBlobRepository imageBlobRepository, PostRepository postRepository,
+            PostCacheService postCacheService, FeedVersionService feedVersionService,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.postRepository = postRepository;
+        this.postCacheService = postCacheService;
+        this.feedVersionService = feedVersionService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    // 파생 이미지는 없어도 원본으로 대체되므로 버린다
+                    meterRegistry.counter("image.derivative.rejected").increment();
+                    logger.warn("파생 이미지 생성 대기열이 가득 차 건너뜀");
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // 원본 파일의 파생 이미지 생성 예약 (url - 게시글에 저장되는 원본 URL)
+    public void generateAsync(Path original, String fileName, String url) {
+        executor.execute(() -> generate(original, fileName, url));
+    }
+
+    // 원본과 함께 파생 이미지 삭제
+    public void deleteDerivatives(Path original, String fileName) {
+        for (Variant variant : Variant.values()) {
+            try {
+                Files.deleteIfExists(original.resolveSibling(derivativeName(fileName, variant)));
+            } catch (IOException e) {
+                logger.warn("파생 이미지 삭제 실패: {}, {}", fileName, e.getMessage());
+            }
+        }
+    }
+
+    // 파생 이미지가 준비된 원본 URL (쿼리 한 번)
+    public Set<String> readyUrls(Collection<String> urls) {
+        Map<String, String> fileNames = new HashMap<>();
+        for (String url : urls) {
+            if (ImageStorageService.isBlobUrl(url)) {
+                fileNames.put(url, url.substring(url.lastIndexOf('/') + 1));
+            }
+        }
+        Set<String> readyUrls = new HashSet<>();
+        if (fileNames.isEmpty()) {
+            return readyUrls;
+        }
+        Set<String> ready = new HashSet<>(imageBlobRepository.findReadyFileNames(new HashSet<>(fileNames.values())));
+        fileNames.forEach((url, fileName) -> {
+            if (ready.contains(fileName)) {
+                readyUrls.add(url);
+            }
+        });
+        return readyUrls;
+    }
+
+    // 원본 URL -> 썸네일 URL (준비된 것만, 쿼리 한 번)
+    public Map<String, String> thumbnailUrls(Collection<String> urls) {
+        Map<String, String> thumbnails = new HashMap<>();
+        for (String url : readyUrls(urls)) {
+            thumbnails.put(url, derivativeUrl(url, Variant.THUMB));
+        }
+        return thumbnails;
+    }
+
+    // 원본 URL 하나의 파생 이미지 URL (준비되지 않았으면 null)
+    public String derivativeUrlIfReady(String url, Variant variant) {
+        if (!ImageStorageService.isBlobUrl(url) || readyUrls(List.of(url)).isEmpty()) {
+            return null;
+        }
+        return derivativeUrl(url, variant);
+    }
+
+    // 같은 디렉토리의 파생 이미지 URL
+    public static String derivativeUrl(String url, Variant variant) {
+        int slash = url.lastIndexOf('/');
+        return url.substring(0, slash + 1) + derivativeName(url.substring(slash + 1), variant);
+    }
+
+    // {sha256}.{확장자} -> {sha256}_{확장자}_{종류}.jpg
+    private static String derivativeName(String fileName, Variant variant) {
+        return fileName.replace('.', '_') + "_" + variant.suffix + ".jpg";
+    }
+
+    private void generate(Path original, String fileName, String url) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                // ImageIO 가 지원하지 않는 형식 (heic 등) - 원본만 사용
+                outcome = "unsupported";
+                logger.info("파생 이미지 생성 불가 형식: {}", fileName);
+                return;
+            }
+            ImageReader reader = readers.next();
+            BufferedImage source;
+            int width;
+            int height;
+            try {
+                reader.setInput(input, true, true);
+                // 헤더의 크기만 먼저 읽음 - 작은 파일이 거대한 해상도를 선언하는 경우 디코딩하지 않음
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    outcome = "too_large";
+                    logger.warn("파생 이미지 생성 건너뜀 - 해상도 초과: {} ({}x{})", fileName, width, height);
+                    return;
+                }
+                source = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+            for (Variant variant : Variant.values()) {
+                Path target = original.resolveSibling(derivativeName(fileName, variant));
+                Path temp = original.resolveSibling(derivativeName(fileName, variant) + ".part");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    ImageResizer.writeJpeg(ImageResizer.resize(source, variant.maxDimension), JPEG_QUALITY, out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                imageBlobRepository.markDerivativesReady(fileName, width, height);
+                // 이미 이 이미지를 쓰는 게시글은 썸네일/중간 크기 URL 이 바뀌므로 리비전 증가 + 캐시 삭제
+                List<Long> postIds = postRepository.findPostIdsByImageUrl(url);
+                if (!postIds.isEmpty()) {
+                    postRepository.incrementRevisions(postIds);
+                    postIds.forEach(postCacheService::evict);
+                    feedVersionService.changed();
+                }
+            });
+            outcome = "success";
+            logger.info("파생 이미지 생성 완료: {} ({}x{})", fileName, width, height);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("파생 이미지 생성 실패: {}, {}", fileName, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("image.derivative.generate", "outcome", outcome));
+        }
+    }
+}
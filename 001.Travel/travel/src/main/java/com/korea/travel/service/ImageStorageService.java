@@ -0,0 +1,416 @@
+package com.korea.travel.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.korea.travel.model.ImageBlobEntity;
+import com.korea.travel.persistence.ImageBlobRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 게시글 이미지 / 프로필 사진 저장 (내용 주소 저장소)
+ * - 파일명은 내용의 SHA-256 ({sha256}.{확장자}), 같은 사진을 다시 올려도 파일은 하나만 보관
+ * - 경로는 해시 앞 4자리로 2단 분산: {upload-dir}/blobs/ab/cd/{sha256}.{확장자}
+ * - image_blobs.ref_count 로 참조 수 관리, 마지막 참조가 해제되면 파일(파생 이미지 포함) 삭제
+ * - 새 파일은 저장 후 ImageDerivativeService 가 썸네일/중간 크기 이미지를 비동기로 생성
+ * - 파일들을 전용 I/O 스레드 풀에서 병렬로 기록 (요청 스레드는 디스크 쓰기를 기다리지 않음)
+ * - 풀과 큐가 가득 차면 호출한 스레드에서 직접 기록 (무한정 쌓이지 않도록 역압)
+ * - 업로드는 고정 버퍼로 스트리밍 기록 (getBytes() 로 힙에 올리지 않음), 크기 제한과 SHA-256 을 같은 패스에서 처리
+ * - 이전의 UUID 파일명 URL(/uploads/{uuid}_{name})은 그대로 제공되며 참조 수 관리 대상이 아님
+ */
+@Service
+public class ImageStorageService {
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    // 내용 주소 저장소 하위 경로
+    private static final String BLOB_DIR = "blobs";
+    private static final String BLOB_URL_PREFIX = URL_PREFIX + BLOB_DIR + "/";
+
+    // 기록 중인 파일 접미사 (완료되면 최종 이름으로 이동)
+    private static final String TEMP_SUFFIX = ".part";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 저장 파일명에 쓸 수 있는 확장자 (그 외는 bin)
+    private static final Set<String> EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp", "heic");
+
+    // 같은 파일의 참조 추가/해제+삭제 직렬화용 락 (파일명 해시로 분산)
+    private static final int LOCK_STRIPES = 64;
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNew;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    @Value("${file.upload-dir}") // 파일 저장 경로 설정
+    private String uploadDir;
+
+    @Value("${image.upload.max-bytes:20971520}") // 파일 하나의 최대 크기 (기본 20MB)
+    private long maxBytes;
+
+    @Value("${image.write.pool-size:8}") // 이미지 기록 스레드 수
+    private int poolSize;
+
+    @Value("${image.write.queue-capacity:200}") // 대기 가능한 기록 작업 수
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    public ImageStorageService(ImageBlobRepository imageBlobRepository, ImageDerivativeService imageDerivativeService,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.meterRegistry = meterRegistry;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-write-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // 여러 파일을 병렬로 저장 - 요청 순서대로 URL 목록, 실패 시 이미 저장한 파일의 참조를 해제하고 예외로 완료
+    public CompletableFuture<List<String>> storeAllAsync(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        List<CompletableFuture<String>> writes = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            writes.add(CompletableFuture.supplyAsync(() -> store(file), executor));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    List<String> urls = new ArrayList<>(writes.size());
+                    for (CompletableFuture<String> write : writes) {
+                        if (!write.isCompletedExceptionally()) {
+                            urls.add(write.join());
+                        }
+                    }
+                    if (error != null) {
+                        releaseAll(urls);
+                        throw error instanceof CompletionException
+                                ? (CompletionException) error : new CompletionException(error);
+                    }
+                    logger.info("총 {}개 파일 저장 완료", urls.size());
+                    return urls;
+                });
+    }
+
+    // 동기 저장 (게시글 수정, 프로필 사진 등) - 병렬 기록 후 완료까지 대기
+    public List<String> storeAll(List<MultipartFile> files) {
+        try {
+            return storeAllAsync(files).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("파일 저장 중 오류 발생", cause);
+        }
+    }
+
+    // 참조 해제 - 마지막 참조였으면 파일 삭제 (UUID 파일명 등 저장소 밖 URL 은 무시)
+    public void releaseAll(List<String> urls) {
+        if (urls == null) {
+            return;
+        }
+        for (String url : urls) {
+            if (isBlobUrl(url)) {
+                release(url.substring(url.lastIndexOf('/') + 1));
+            }
+        }
+    }
+
+    // 현재 트랜잭션이 커밋된 뒤에 참조 해제 (게시글 삭제/이미지 교체 - 롤백되면 그대로 유지)
+    public void releaseAfterCommit(List<String> urls) {
+        List<String> copy = urls != null ? new ArrayList<>(urls) : List.of();
+        if (copy.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseAll(copy);
+                }
+            });
+        } else {
+            releaseAll(copy);
+        }
+    }
+
+    // 현재 트랜잭션이 롤백되면 참조 해제 (트랜잭션 안에서 새로 저장한 파일)
+    public void releaseOnRollback(List<String> urls) {
+        List<String> copy = urls != null ? new ArrayList<>(urls) : List.of();
+        if (copy.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    releaseAll(copy);
+                }
+            }
+        });
+    }
+
+    // 이전 방식(UUID 파일명, 프로필 사진 {id}_{파일명}) 파일 삭제 - URL 을 업로드 루트 기준으로 해석
+    public void deleteLegacyFile(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX) || isBlobUrl(url)) {
+            return;
+        }
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = root.resolve(url.substring(URL_PREFIX.length())).normalize();
+        if (!path.startsWith(root)) {
+            return;
+        }
+        try {
+            if (Files.deleteIfExists(path)) {
+                logger.info("이전 방식 파일 삭제: {}", url);
+            }
+        } catch (IOException e) {
+            logger.warn("이전 방식 파일 삭제 실패: {}, {}", url, e.getMessage());
+        }
+    }
+
+    // 참조가 남아 있지 않은 저장소 파일 정리 (UploadSweeper 용)
+    // untouchedSince 이후에 참조 수가 바뀐 파일은 그 사이 다시 쓰였을 수 있으므로 건너뜀
+    public boolean purgeOrphanBlob(Path blobPath, LocalDateTime untouchedSince) {
+        String fileName = blobPath.getFileName().toString();
+        synchronized (lockFor(fileName)) {
+            Boolean purge = requiresNew.execute(status -> {
+                Optional<ImageBlobEntity> blob = imageBlobRepository.findById(fileName);
+                if (blob.isPresent() && blob.get().getUpdatedAt().isAfter(untouchedSince)) {
+                    return false;
+                }
+                blob.ifPresent(imageBlobRepository::delete);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(purge)) {
+                return false;
+            }
+            imageDerivativeService.deleteDerivatives(blobPath, fileName);
+            try {
+                Files.deleteIfExists(blobPath);
+            } catch (IOException e) {
+                logger.warn("파일 삭제 실패: {}, {}", fileName, e.getMessage());
+                return false;
+            }
+            return true;
+        }
+    }
+
+    public static boolean isBlobUrl(String url) {
+        return url != null && url.startsWith(BLOB_URL_PREFIX);
+    }
+
+    private String store(MultipartFile file) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        Path tempPath = null;
+        try {
+            String originalFilename = file.getOriginalFilename();
+            logger.info("파일 저장 중: 원본 파일명={}, 크기={}bytes", originalFilename, file.getSize());
+            
+            // 선언된 크기로 먼저 거르고, 실제 크기는 스트리밍하면서 다시 확인
+            if (file.getSize() > maxBytes) {
+                throw new IllegalArgumentException("파일 크기가 너무 큽니다: " + originalFilename);
+            }
+            
+            Path uploadPath = Paths.get(uploadDir);
+            
+            // 디렉토리 존재 확인 및 생성
+            if (!Files.exists(uploadPath)) {
+                logger.info("업로드 디렉토리가 존재하지 않아 생성합니다: {}", uploadPath);
+                Files.createDirectories(uploadPath);
+            }
+            
+            // 임시 파일에 스트리밍으로 기록 (고정 크기 버퍼, 크기 제한 + SHA-256 을 같은 패스에서 계산)
+            tempPath = uploadPath.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+            Copied copied = copy(file, tempPath);
+            String sha256 = copied.sha256;
+            long size = copied.size;
+            
+            String fileName = sha256 + "." + extensionOf(originalFilename);
+            String shard = shardOf(fileName);
+            Path blobPath = uploadPath.resolve(BLOB_DIR).resolve(shard).resolve(fileName);
+            
+            boolean deduplicated;
+            synchronized (lockFor(fileName)) {
+                Files.createDirectories(blobPath.getParent());
+                deduplicated = Files.exists(blobPath);
+                if (!deduplicated) {
+                    try {
+                        Files.move(tempPath, blobPath, StandardCopyOption.ATOMIC_MOVE);
+                        tempPath = null;
+                    } catch (FileAlreadyExistsException e) {
+                        deduplicated = true;
+                    }
+                }
+                requiresNew.executeWithoutResult(status -> imageBlobRepository.acquire(fileName, sha256, size));
+            }
+            
+            String fileUrl = BLOB_URL_PREFIX + shard + "/" + fileName;
+            
+            // 새 파일이면 썸네일/중간 크기 이미지를 비동기로 생성
+            if (!deduplicated) {
+                imageDerivativeService.generateAsync(blobPath, fileName, fileUrl);
+            }
+            
+            outcome = deduplicated ? "deduplicated" : "success";
+            logger.info("파일 저장 완료: URL={}, 중복={}", fileUrl, deduplicated);
+            return fileUrl;
+        } catch (IOException e) {
+            logger.error("파일 저장 중 오류 발생: {}", e.getMessage(), e);
+            throw new RuntimeException("파일 저장 중 오류 발생", e);
+        } finally {
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException e) {
+                    logger.warn("임시 파일 정리 실패: {}, {}", tempPath, e.getMessage());
+                }
+            }
+            sample.stop(meterRegistry.timer("post.image.write", "outcome", outcome));
+        }
+    }
+
+    private void release(String fileName) {
+        synchronized (lockFor(fileName)) {
+            Boolean unreferenced = requiresNew.execute(status -> {
+                imageBlobRepository.release(fileName);
+                return imageBlobRepository.deleteIfUnreferenced(fileName) > 0;
+            });
+            if (Boolean.TRUE.equals(unreferenced)) {
+                Path blobPath = Paths.get(uploadDir).resolve(BLOB_DIR).resolve(shardOf(fileName)).resolve(fileName);
+                imageDerivativeService.deleteDerivatives(blobPath, fileName);
+                try {
+                    Files.deleteIfExists(blobPath);
+                    logger.info("참조가 없어진 파일 삭제: {}", fileName);
+                } catch (IOException e) {
+                    logger.warn("파일 삭제 실패: {}, {}", fileName, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // 업로드 스트림 -> 파일 복사, 기록한 바이트 수와 SHA-256(hex) 반환
+    // 힙 사용량은 파일 크기와 관계없이 버퍼 하나
+    private Copied copy(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        try (InputStream in = file.getInputStream();
+             OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                written += read;
+                if (written > maxBytes) {
+                    throw new IllegalArgumentException("파일 크기가 너무 큽니다: " + file.getOriginalFilename());
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        meterRegistry.summary("post.image.bytes").record(written);
+        return new Copied(written, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // 해시 앞 4자리 -> ab/cd
+    private static String shardOf(String fileName) {
+        return fileName.substring(0, 2) + "/" + fileName.substring(2, 4);
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "bin";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        String extension = dot >= 0 ? originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+        return EXTENSIONS.contains(extension) ? extension : "bin";
+    }
+
+    private Object lockFor(String fileName) {
+        return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Copied {
+        private final long size;
+        private final String sha256;
+
+        Copied(long size, String sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+    }
+}
@@ -3,7 +3,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import com.korea.travel.dto.LikeDTO;
-import com.korea.travel.model.LikeEntity;
 import com.korea.travel.model.LikeEntity.UserType;
 import com.korea.travel.model.PostEntity;
 import com.korea.travel.model.SocialEntity;
@@ -15,15 +14,29 @@ import com.korea.travel.persistence.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LikeService {
+    // 좋아요 여부 일괄 조회 최대 게시글 수
+    public static final int MAX_BULK_IDS = 100;
+    
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final SocialRepository socialRepository;
     private final LikeRepository likeRepository;
+    private final PostCacheService postCacheService;
+    private final TrendingService trendingService;
+    private final PostEventService postEventService;
+    private final FeedVersionService feedVersionService;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final LikedPostCache likedPostCache;
     
     private final Logger logger = LoggerFactory.getLogger(LikeService.class);
     
@@ -36,18 +49,30 @@ public class LikeService {
         UserType type = "SOCIAL".equalsIgnoreCase(userType) ? 
             UserType.SOCIAL : UserType.REGULAR;
         
-        // 게시글 확인
-        PostEntity post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post with ID " + postId + " not found"));
+        // write-behind - 버퍼에만 반영하고 DB 기록은 LikeWriteBuffer 가 모아서
+        if (likeWriteBuffer.isEnabled()) {
+            if (likeWriteBuffer.apply(postId, userId, type, true)) {
+                likedPostCache.onChanged(userId, type, postId, true);
+                trendingService.onLike(postId);
+                feedVersionService.changed();
+            }
+            return new LikeDTO(null, userId, postId);
+        }
         
-        // 이미 좋아요를 눌렀는지 확인
-        if (likeRepository.findByUserIdAndUserTypeAndPostEntity(userId, type, post).isEmpty()) {
-            LikeEntity like = new LikeEntity();
-            like.setUserId(userId);
-            like.setUserType(type);
-            like.setPostEntity(post);
-            likeRepository.save(like);
+        // 삽입 한 문장 (중복은 유니크 인덱스가 막음) - 실제로 삽입됐을 때만 좋아요 수 증가
+        int inserted = likeRepository.insertIfAbsent(postId, userId, type.name());
+        
+        if (inserted > 0) {
+            postRepository.incrementLikeCount(postId);
+            likedPostCache.onChanged(userId, type, postId, true);
+            postCacheService.evict(postId);
+            trendingService.onLike(postId);
+            postEventService.likesChanged(postId);
+            feedVersionService.changed();
             logger.info("좋아요 추가 성공: userId={}, userType={}, postId={}", userId, userType, postId);
+        } else if (!postRepository.existsById(postId)) {
+            // 0 건은 중복 또는 없는 게시글 - 드문 경우라 이때만 게시글 확인
+            throw new IllegalArgumentException("Post with ID " + postId + " not found");
         } else {
             logger.info("이미 좋아요가 존재함: userId={}, userType={}, postId={}", userId, userType, postId);
         }
@@ -63,23 +88,36 @@ public class LikeService {
         UserType type = "SOCIAL".equalsIgnoreCase(userType) ? 
             UserType.SOCIAL : UserType.REGULAR;
         
-        PostEntity post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post with ID " + postId + " not found"));
-        
-        LikeEntity like = likeRepository.findByUserIdAndUserTypeAndPostEntity(userId, type, post)
-                .orElseThrow(() -> new IllegalArgumentException("Like not found"));
+        if (likeWriteBuffer.isEnabled()) {
+            if (likeWriteBuffer.apply(postId, userId, type, false)) {
+                likedPostCache.onChanged(userId, type, postId, false);
+                trendingService.onUnlike(postId);
+                feedVersionService.changed();
+            }
+            return new LikeDTO(null, userId, postId);
+        }
         
-        likeRepository.delete(like);
+        // 키로 바로 삭제 (멱등) - 지운 행이 있을 때만 좋아요 수 감소, 이미 없으면 그대로 성공
+        if (likeRepository.deleteByKey(postId, userId, type) == 0) {
+            logger.info("이미 좋아요가 없음: userId={}, userType={}, postId={}", userId, userType, postId);
+            return new LikeDTO(null, userId, postId);
+        }
+        postRepository.decrementLikeCount(postId);
+        likedPostCache.onChanged(userId, type, postId, false);
+        postCacheService.evict(postId);
+        trendingService.onUnlike(postId);
+        postEventService.likesChanged(postId);
+        feedVersionService.changed();
         logger.info("좋아요 삭제 성공: userId={}, userType={}, postId={}", userId, userType, postId);
         
         return new LikeDTO(null, userId, postId);
     }
     
-    // 특정 게시물에 대한 좋아요 수
+    // 특정 게시물에 대한 좋아요 수 (write-behind 버퍼의 미기록 증감 포함)
     public int getLikeCount(Long postId) {
-        PostEntity post = postRepository.findById(postId)
+        int likeCount = postRepository.findLikeCountByPostId(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post with ID " + postId + " not found"));
-        return post.getLikeCount();
+        return Math.max(0, likeCount + likeWriteBuffer.getDelta(postId));
     }
     
     // 특정 게시물에 대해 사용자가 좋아요를 눌렀는지 확인
@@ -89,6 +127,17 @@ public class LikeService {
         UserType type = "SOCIAL".equalsIgnoreCase(userType) ? 
             UserType.SOCIAL : UserType.REGULAR;
         
+        // 아직 기록하지 않은 변경이 있으면 버퍼 기준
+        Optional<Boolean> buffered = likeWriteBuffer.isLiked(postId, userId, type);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
+        
+        // 사용자별 좋아요 비트맵 (처음 한 번만 DB 로딩)
+        if (likedPostCache.isEnabled()) {
+            return likedPostCache.contains(userId, type, postId);
+        }
+        
         PostEntity post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post with ID " + postId + " not found"));
         
@@ -97,5 +146,40 @@ public class LikeService {
         return liked;
     }
     
+    // 여러 게시글 중 사용자가 좋아요를 누른 게시글 ID (요청 순서 유지)
+    // write-behind 버퍼에 있는 것은 버퍼 기준, 나머지는 사용자별 좋아요 캐시 (끄면 쿼리 한 번)
+    public List<Long> getLikedPostIds(Long userId, String userType, List<Long> postIds) {
+        List<Long> requested = postIds.stream()
+                .filter(id -> id != null)
+                .distinct()
+                .collect(Collectors.toList());
+        if (requested.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_IDS + "개까지 조회할 수 있습니다.");
+        }
+        
+        UserType type = "SOCIAL".equalsIgnoreCase(userType) ? 
+            UserType.SOCIAL : UserType.REGULAR;
+        
+        Set<Long> liked = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long postId : requested) {
+            Optional<Boolean> buffered = likeWriteBuffer.isLiked(postId, userId, type);
+            if (buffered.isEmpty()) {
+                unknown.add(postId);
+            } else if (buffered.get()) {
+                liked.add(postId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            liked.addAll(likedPostCache.isEnabled()
+                    ? likedPostCache.filterLiked(userId, type, unknown)
+                    : likeRepository.findLikedPostIds(userId, type, unknown));
+        }
+        
+        return requested.stream()
+                .filter(liked::contains)
+                .collect(Collectors.toList());
+    }
+    
     // 이전 findUserById 메서드는 더 이상 사용하지 않음 - 사용자 ID와 타입으로 직접 처리
 }
\ No newline at end of file
@@ -0,0 +1,369 @@
+package com.korea.travel.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.korea.travel.model.LikeEntity.UserType;
+import com.korea.travel.persistence.LikeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 좋아요 write-behind 버퍼 (like.write-behind.enabled=true 일 때 LikeService 가 사용)
+ * - 좋아요/취소는 메모리의 (게시글, 사용자, 타입) -> 원하는 상태 맵에 바로 반영 (요청당 DB 쓰기 없음)
+ * - 전용 스레드가 like.write-behind.flush-interval-ms 마다 바뀐 것만 모아
+ *   다중 행 INSERT (없는 것만) / DELETE 와 like_count 재계산을 한 트랜잭션으로 기록 (최대 batch-size 건씩)
+ * - isLiked / 좋아요 수는 버퍼를 먼저 본다 (누른 사람은 바로 반영된 결과를 봄)
+ * - 종료 시 남은 변경을 모두 기록 - 노드별 메모리 버퍼이므로 비정상 종료 시 마지막 주기분은 유실될 수 있음
+ */
+@Service
+public class LikeWriteBuffer {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final LikeRepository likeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostCacheService postCacheService;
+    private final PostEventService postEventService;
+    private final FeedVersionService feedVersionService;
+    private final TransactionTemplate requiresNew;
+    private final Counter flushedRows;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // 아직 DB 에 기록하지 않은 좋아요 상태
+    private final Map<LikeKey, Pending> pending = new ConcurrentHashMap<>();
+
+    // 기록 중인 항목 - 기록이 끝날 때까지 DB 상태를 알 수 없으므로 버퍼에서 빼지 않음
+    private final Set<LikeKey> inFlight = ConcurrentHashMap.newKeySet();
+
+    // 게시글별 미기록 좋아요 수 증감 (DB like_count 에 더해서 보여줌)
+    private final Map<Long, Integer> deltas = new ConcurrentHashMap<>();
+
+    // 증감이 바뀔 때마다 증가 (ETag 용) - 노드마다 따로 세므로 노드 ID 와 함께 씀
+    private final AtomicLong deltaChanges = new AtomicLong();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 기록 커밋 후 (사용자, 타입)마다 호출 (LikedPostCache 의 Redis 사본 무효화)
+    private final List<BiConsumer<Long, UserType>> flushListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService flusher;
+
+    private final Logger logger = LoggerFactory.getLogger(LikeWriteBuffer.class);
+
+    @Value("${like.write-behind.enabled:false}") // 좋아요 write-behind 사용 여부
+    private boolean enabled;
+
+    @Value("${like.write-behind.flush-interval-ms:1000}") // DB 기록 주기 (ms)
+    private long flushIntervalMs;
+
+    @Value("${like.write-behind.batch-size:500}") // 한 번에 기록할 최대 변경 수 (문장당 행 수)
+    private int batchSize;
+
+    public LikeWriteBuffer(LikeRepository likeRepository, JdbcTemplate jdbcTemplate,
+            PostCacheService postCacheService, PostEventService postEventService,
+            FeedVersionService feedVersionService, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postCacheService = postCacheService;
+        this.postEventService = postEventService;
+        this.feedVersionService = feedVersionService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushedRows = meterRegistry.counter("likes.write-behind.flushed");
+        meterRegistry.gaugeMapSize("likes.write-behind.pending", List.of(), pending);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "like-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 종료 시 주기 작업을 멈추고 남은 변경을 모두 기록
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        try {
+            while (!pending.isEmpty()) {
+                flush();
+            }
+            logger.info("좋아요 버퍼 종료 기록 완료");
+        } catch (Exception e) {
+            logger.error("종료 시 좋아요 기록 실패: {}건 유실, {}", pending.size(), e.getMessage(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void addFlushListener(BiConsumer<Long, UserType> listener) {
+        flushListeners.add(listener);
+    }
+
+    // 좋아요 상태 변경 - 실제로 상태가 바뀌었으면 true (이미 같은 상태면 false)
+    public boolean apply(Long postId, Long userId, UserType userType, boolean liked) {
+        LikeKey key = new LikeKey(postId, userId, userType);
+        synchronized (lock(key)) {
+            Pending current = pending.get(key);
+            if (current == null) {
+                // 버퍼에 없으면 DB 상태가 기준 (기록 중인 항목은 버퍼에 남아 있으므로 여기 오지 않음)
+                boolean persisted = likeRepository.existsByUserIdAndUserTypeAndPostEntity_PostId(userId, userType, postId);
+                current = new Pending(persisted, persisted);
+            }
+            if (current.liked == liked) {
+                return false;
+            }
+            Pending next = new Pending(current.persisted, liked);
+            if (next.liked == next.persisted && !inFlight.contains(key)) {
+                pending.remove(key);
+            } else {
+                pending.put(key, next);
+            }
+            addDelta(postId, liked ? 1 : -1);
+            return true;
+        }
+    }
+
+    // 버퍼에 있는 좋아요 상태 (없으면 empty - DB 를 봐야 함)
+    public Optional<Boolean> isLiked(Long postId, Long userId, UserType userType) {
+        Pending current = pending.get(new LikeKey(postId, userId, userType));
+        return current != null ? Optional.of(current.liked) : Optional.empty();
+    }
+
+    // 사용자의 미기록 좋아요 상태 (postId -> 좋아요 여부) - 버퍼 크기만큼 훑음
+    public Map<Long, Boolean> pendingFor(Long userId, UserType userType) {
+        Map<Long, Boolean> result = new HashMap<>();
+        pending.forEach((key, value) -> {
+            if (key.userId.equals(userId) && key.userType == userType) {
+                result.put(key.postId, value.liked);
+            }
+        });
+        return result;
+    }
+
+    // 아직 기록하지 않은 좋아요 수 증감
+    public int getDelta(Long postId) {
+        return deltas.getOrDefault(postId, 0);
+    }
+
+    // 미기록 증감 버전 - 증감이 없으면 null (응답이 DB 상태만으로 정해짐)
+    public String deltaVersion() {
+        return deltas.isEmpty() ? null : nodeId + "-" + deltaChanges.get();
+    }
+
+    private void flushSafely() {
+        try {
+            // 한 주기에 batch-size 를 넘게 쌓였으면 연달아 기록
+            while (flush() >= batchSize) {
+                // 다음 묶음
+            }
+        } catch (Exception e) {
+            logger.error("좋아요 기록 실패 (다음 주기에 재시도): {}", e.getMessage(), e);
+        }
+    }
+
+    // 최대 batch-size 건 기록 - 처리한 변경 수 반환
+    public int flush() {
+        List<LikeKey> keys = new ArrayList<>();
+        List<Pending> snapshot = new ArrayList<>();
+        for (LikeKey key : pending.keySet()) {
+            if (keys.size() >= batchSize) {
+                break;
+            }
+            synchronized (lock(key)) {
+                Pending value = pending.get(key);
+                // 되돌려서 기록할 것이 없는 항목은 건너뜀
+                if (value == null || value.liked == value.persisted) {
+                    continue;
+                }
+                inFlight.add(key);
+                keys.add(key);
+                snapshot.add(value);
+            }
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            write(keys, snapshot);
+        } catch (RuntimeException e) {
+            // 롤백 - DB 는 그대로이므로 기록 중 원래 상태로 되돌린 항목은 이제 버퍼에서 빼도 됨
+            for (LikeKey key : keys) {
+                synchronized (lock(key)) {
+                    inFlight.remove(key);
+                    Pending current = pending.get(key);
+                    if (current != null && current.liked == current.persisted) {
+                        pending.remove(key);
+                    }
+                }
+            }
+            throw e;
+        }
+
+        // 기록 완료 - 기록된 상태를 새 기준으로, 그 사이 다시 바뀐 항목만 남김
+        for (int i = 0; i < keys.size(); i++) {
+            LikeKey key = keys.get(i);
+            Pending written = snapshot.get(i);
+            synchronized (lock(key)) {
+                inFlight.remove(key);
+                Pending current = pending.get(key);
+                if (current.liked == written.liked) {
+                    pending.remove(key);
+                } else {
+                    pending.put(key, new Pending(written.liked, current.liked));
+                }
+                // like_count 에 반영된 만큼 증감에서 뺌
+                addDelta(key.postId, written.persisted ? 1 : -1);
+            }
+        }
+        // 기록된 사용자별로 한 번씩 알림
+        Set<LikeKey> users = new LinkedHashSet<>();
+        for (LikeKey key : keys) {
+            users.add(new LikeKey(null, key.userId, key.userType));
+        }
+        for (LikeKey user : users) {
+            for (BiConsumer<Long, UserType> listener : flushListeners) {
+                try {
+                    listener.accept(user.userId, user.userType);
+                } catch (RuntimeException e) {
+                    logger.warn("좋아요 기록 후 처리 실패: userId={}, {}", user.userId, e.getMessage());
+                }
+            }
+        }
+        flushedRows.increment(keys.size());
+        return keys.size();
+    }
+
+    // 한 트랜잭션으로 INSERT / DELETE 와 like_count 재계산
+    private void write(List<LikeKey> keys, List<Pending> snapshot) {
+        List<Object> insertArgs = new ArrayList<>();
+        List<Object> deleteArgs = new ArrayList<>();
+        Set<Long> postIds = new LinkedHashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            LikeKey key = keys.get(i);
+            List<Object> args = snapshot.get(i).liked ? insertArgs : deleteArgs;
+            args.add(key.postId);
+            args.add(key.userId);
+            args.add(key.userType.name());
+            postIds.add(key.postId);
+        }
+
+        requiresNew.executeWithoutResult(status -> {
+            if (!insertArgs.isEmpty()) {
+                // 이미 있는 좋아요는 NOT EXISTS 로 건너뜀 (uk_likes_post_user 가 아직 없는 DB 에서도 중복 없음)
+                // IGNORE 는 삭제된 게시글(FK 위반)과 다른 노드와 동시에 넣은 행(유니크 키 위반)용
+                jdbcTemplate.update("INSERT IGNORE INTO likes (post_id, user_id, user_type) "
+                        + "SELECT v.post_id, v.user_id, v.user_type FROM (" + selectRows(insertArgs.size() / 3) + ") v "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM likes l WHERE l.post_id = v.post_id "
+                        + "AND l.user_id = v.user_id AND l.user_type = v.user_type)", insertArgs.toArray());
+            }
+            if (!deleteArgs.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM likes WHERE (post_id, user_id, user_type) IN ("
+                        + rows(deleteArgs.size() / 3) + ")", deleteArgs.toArray());
+            }
+            // 증감 대신 재계산 - 다른 노드의 기록과 섞여도 likes 테이블과 일치 (중복 행은 한 번만 셈)
+            jdbcTemplate.update("UPDATE posts p SET p.like_count = "
+                    + "(SELECT COUNT(DISTINCT l.user_id, l.user_type) FROM likes l WHERE l.post_id = p.post_id), "
+                    + "p.revision = p.revision + 1 "
+                    + "WHERE p.post_id IN (" + String.join(", ", Collections.nCopies(postIds.size(), "?")) + ")",
+                    postIds.toArray());
+            for (Long postId : postIds) {
+                postCacheService.evict(postId);
+                postEventService.likesChanged(postId);
+            }
+            feedVersionService.changed();
+        });
+
+    }
+
+    private void addDelta(Long postId, int amount) {
+        deltaChanges.incrementAndGet();
+        deltas.compute(postId, (id, current) -> {
+            int next = (current != null ? current : 0) + amount;
+            return next != 0 ? next : null;
+        });
+    }
+
+    // SELECT ? AS post_id, ? AS user_id, ? AS user_type UNION ALL SELECT ?, ?, ? ...
+    private static String selectRows(int count) {
+        StringBuilder sql = new StringBuilder("SELECT ? AS post_id, ? AS user_id, ? AS user_type");
+        for (int i = 1; i < count; i++) {
+            sql.append(" UNION ALL SELECT ?, ?, ?");
+        }
+        return sql.toString();
+    }
+
+    // (?, ?, ?), (?, ?, ?) ...
+    private static String rows(int count) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    private Object lock(LikeKey key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    // (게시글, 사용자, 타입)
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class LikeKey {
+        private final Long postId;
+        private final Long userId;
+        private final UserType userType;
+    }
+
+    // DB 에 기록된 상태와 원하는 상태
+    @AllArgsConstructor
+    private static final class Pending {
+        private final boolean persisted;
+        private final boolean liked;
+    }
+}
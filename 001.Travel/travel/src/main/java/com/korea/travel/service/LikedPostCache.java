@@ -0,0 +1,284 @@
+package com.korea.travel.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.korea.travel.model.LikeEntity.UserType;
+import com.korea.travel.persistence.LikeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 사용자별 좋아요 게시글 캐시 - (userId, UserType) -> 좋아요 누른 postId 압축 비트맵 (Roaring)
+ * - 처음 물어볼 때 likes 테이블에서 한 번 로딩 (idx_likes_user_post), 이후 isLiked / 일괄 조회는 DB 없이 O(1)
+ * - LikeService 가 좋아요 추가/삭제를 알리면 로딩된 비트맵만 갱신 (트랜잭션 중이면 커밋 이후)
+ * - 사용자 수는 like.cache.max-users 로 제한 (접근 순서 LRU), 항목은 like.cache.ttl-seconds 후 다시 로딩
+ *   (노드별 메모리 캐시이므로 다른 노드에서 바뀐 좋아요는 TTL 안에 반영)
+ * - like.cache.redis.enabled=true 이면 로딩한 비트맵을 Redis 에 직렬화해 두고 재시작/LRU 제거 후 재사용
+ *   - Redis 사본은 DB 에 기록된 상태만 담음 (write-behind 미기록 변경은 로딩할 때마다 덮어씀)
+ *   - 좋아요 변경 커밋 / write-behind 기록 커밋 후 사본 삭제 + 세대 증가,
+ *     로딩은 DB 를 읽기 전에 본 세대가 그대로일 때만 사본을 기록 (다른 노드의 변경과 겹친 낡은 사본 방지)
+ */
+@Service
+public class LikedPostCache {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final LikeRepository likeRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final RedisUtil redisUtil;
+    private final Counter hits;
+    private final Counter loads;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Logger logger = LoggerFactory.getLogger(LikedPostCache.class);
+
+    @Value("${like.cache.enabled:true}") // 사용자별 좋아요 캐시 사용 여부
+    private boolean enabled;
+
+    @Value("${like.cache.max-users:10000}") // 메모리에 둘 최대 사용자 수
+    private int maxUsers;
+
+    @Value("${like.cache.ttl-seconds:300}") // 메모리 항목 유지 시간 (초)
+    private long ttlSeconds;
+
+    @Value("${like.cache.redis.enabled:false}") // Redis 에 비트맵 보관 여부
+    private boolean redisEnabled;
+
+    @Value("${like.cache.redis.ttl-seconds:86400}") // Redis 사본 유지 시간 (초)
+    private long redisTtlSeconds;
+
+    // (userId, 타입) -> 좋아요 비트맵 (접근 순서 LRU)
+    private final Map<String, CacheEntry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CacheEntry>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > maxUsers;
+                }
+            });
+
+    public LikedPostCache(LikeRepository likeRepository, LikeWriteBuffer likeWriteBuffer,
+            RedisUtil redisUtil, MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.likeWriteBuffer = likeWriteBuffer;
+        this.redisUtil = redisUtil;
+        this.hits = meterRegistry.counter("likes.user-cache", "result", "hit");
+        this.loads = meterRegistry.counter("likes.user-cache", "result", "load");
+        meterRegistry.gaugeMapSize("likes.user-cache.users", List.of(), cache);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        // write-behind 기록이 커밋되면 그 사용자들의 Redis 사본은 DB 보다 낡음
+        likeWriteBuffer.addFlushListener(this::onFlushed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 사용자가 게시글에 좋아요를 눌렀는지
+    public boolean contains(Long userId, UserType userType, Long postId) {
+        CacheEntry entry = get(userId, userType);
+        synchronized (entry) {
+            return entry.postIds.contains(postId);
+        }
+    }
+
+    // 주어진 게시글 중 좋아요를 누른 것
+    public Set<Long> filterLiked(Long userId, UserType userType, Collection<Long> postIds) {
+        CacheEntry entry = get(userId, userType);
+        Set<Long> liked = new HashSet<>();
+        synchronized (entry) {
+            for (Long postId : postIds) {
+                if (entry.postIds.contains(postId)) {
+                    liked.add(postId);
+                }
+            }
+        }
+        return liked;
+    }
+
+    // 좋아요 추가/삭제 반영 - 트랜잭션 중이면 커밋 이후 (롤백되면 반영하지 않음)
+    public void onChanged(Long userId, UserType userType, Long postId, boolean liked) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, userType, postId, liked);
+                }
+            });
+        } else {
+            apply(userId, userType, postId, liked);
+        }
+    }
+
+    private void apply(Long userId, UserType userType, Long postId, boolean liked) {
+        String key = key(userId, userType);
+        // 로딩과 같은 락 - 로딩 중인 사용자의 변경은 로딩이 끝난 뒤 반영
+        synchronized (lock(key)) {
+            CacheEntry entry = cache.get(key);
+            if (entry != null) {
+                synchronized (entry) {
+                    if (liked) {
+                        entry.postIds.addLong(postId);
+                    } else {
+                        entry.postIds.removeLong(postId);
+                    }
+                }
+            }
+            invalidateRedis(key);
+        }
+    }
+
+    // write-behind 기록 커밋 후 (LikeWriteBuffer 가 사용자마다 호출)
+    private void onFlushed(Long userId, UserType userType) {
+        if (enabled) {
+            invalidateRedis(key(userId, userType));
+        }
+    }
+
+    // Redis 사본 삭제 + 세대 증가 - 이전 세대를 보고 DB 를 읽던 로딩은 사본을 기록하지 않음
+    private void invalidateRedis(String key) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisUtil.deleteAndBumpGeneration(redisKey(key), generationKey(key), redisTtlSeconds);
+        } catch (RuntimeException e) {
+            logger.warn("좋아요 비트맵 Redis 삭제 실패: {}, {}", key, e.getMessage());
+        }
+    }
+
+    private CacheEntry get(Long userId, UserType userType) {
+        String key = key(userId, userType);
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return entry;
+        }
+        synchronized (lock(key)) {
+            entry = cache.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                return entry;
+            }
+            entry = new CacheEntry(load(key, userId, userType), ttlSeconds);
+            cache.put(key, entry);
+            return entry;
+        }
+    }
+
+    // Redis 사본 -> 없으면 DB, 아직 기록되지 않은 write-behind 변경을 덮어씀
+    private Roaring64Bitmap load(String key, Long userId, UserType userType) {
+        loads.increment();
+        // 세대는 사본/DB 보다 먼저 읽음 (그 뒤의 변경이 있으면 기록하지 않도록)
+        String generation = redisEnabled ? readGeneration(key) : null;
+        Roaring64Bitmap postIds = redisEnabled ? readRedis(key) : null;
+        if (postIds == null) {
+            postIds = new Roaring64Bitmap();
+            for (Long postId : likeRepository.findPostIdsByUser(userId, userType)) {
+                postIds.addLong(postId);
+            }
+            postIds.runOptimize();
+            if (generation != null) {
+                writeRedis(key, postIds, generation);
+            }
+        }
+        if (likeWriteBuffer.isEnabled()) {
+            for (Map.Entry<Long, Boolean> change : likeWriteBuffer.pendingFor(userId, userType).entrySet()) {
+                if (change.getValue()) {
+                    postIds.addLong(change.getKey());
+                } else {
+                    postIds.removeLong(change.getKey());
+                }
+            }
+        }
+        return postIds;
+    }
+
+    // Redis 장애 시 null (사본을 기록하지 않음)
+    private String readGeneration(String key) {
+        try {
+            return redisUtil.getGeneration(generationKey(key));
+        } catch (RuntimeException e) {
+            logger.warn("좋아요 비트맵 세대 조회 실패: {}, {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private Roaring64Bitmap readRedis(String key) {
+        try {
+            String encoded = redisUtil.getData(redisKey(key));
+            if (encoded == null) {
+                return null;
+            }
+            Roaring64Bitmap postIds = new Roaring64Bitmap();
+            postIds.deserialize(new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded))));
+            return postIds;
+        } catch (Exception e) {
+            logger.warn("좋아요 비트맵 Redis 조회 실패: {}, {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String key, Roaring64Bitmap postIds, String generation) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            postIds.serialize(new DataOutputStream(bytes));
+            redisUtil.setDataIfGeneration(redisKey(key), Base64.getEncoder().encodeToString(bytes.toByteArray()),
+                    redisTtlSeconds, generationKey(key), generation);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("좋아요 비트맵 Redis 저장 실패: {}, {}", key, e.getMessage());
+        }
+    }
+
+    private Object lock(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static String key(Long userId, UserType userType) {
+        return userType.name() + ":" + userId;
+    }
+
+    // 사본과 세대 키는 같은 해시 슬롯 ({해시태그}) - 한 스크립트에서 함께 다룸
+    private static String redisKey(String key) {
+        return "likes:user:{" + key + "}";
+    }
+
+    private static String generationKey(String key) {
+        return "likes:user:{" + key + "}:gen";
+    }
+
+    // 비트맵 자체는 스레드 안전하지 않으므로 항목 단위로 동기화
+    private static class CacheEntry {
+        final Roaring64Bitmap postIds;
+        final long expiresAt;
+
+        CacheEntry(Roaring64Bitmap postIds, long ttlSeconds) {
+            this.postIds = postIds;
+            this.expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        }
+    }
+}
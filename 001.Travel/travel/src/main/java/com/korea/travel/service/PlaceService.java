@@ -0,0 +1,194 @@
+package com.korea.travel.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.korea.travel.dto.PlaceDTO;
+import com.korea.travel.model.PlaceEntity;
+import com.korea.travel.model.PlacePostEntity;
+import com.korea.travel.persistence.PlacePostRepository;
+import com.korea.travel.persistence.PlaceRepository;
+import com.korea.travel.persistence.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 장소 사전 / 장소 -> 게시글 역색인 관리
+ * - PostService 의 작성/수정/삭제 시 syncPostPlaces / removePost 로 갱신
+ * - 장소별 게시글, 많이 언급된 장소 조회는 places / place_posts 인덱스만 사용 (post_places 스캔 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaceService {
+
+    public static final int DEFAULT_TOP_PLACES = 20;
+    public static final int MAX_TOP_PLACES = 100;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PlaceRepository placeRepository;
+    private final PlacePostRepository placePostRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Logger logger = LoggerFactory.getLogger(PlaceService.class);
+
+    // 장소명 정규화 - NFKC, 공백 제거, 소문자 ("서울 타워" / "서울타워" -> "서울타워")
+    public static String canonicalize(String placeName) {
+        if (placeName == null) {
+            return null;
+        }
+        String canonical = Normalizer.normalize(placeName, Normalizer.Form.NFKC)
+                .replaceAll("\\s+", "")
+                .toLowerCase(Locale.ROOT);
+        return canonical.isEmpty() ? null : canonical;
+    }
+
+    // 게시글의 장소 목록을 역색인에 반영 (추가된 장소는 연결 + post_count 증가, 빠진 장소는 연결 해제 + 감소)
+    @Transactional
+    public void syncPostPlaces(Long postId, Collection<String> places) {
+        // 정규화된 이름 -> 표시용 이름 (같은 게시글 안의 중복 장소는 한 번만)
+        Map<String, String> names = new LinkedHashMap<>();
+        if (places != null) {
+            for (String place : places) {
+                String canonical = canonicalize(place);
+                if (canonical != null) {
+                    names.putIfAbsent(canonical, place.trim());
+                }
+            }
+        }
+
+        Set<Long> placeIds = resolvePlaceIds(names);
+        Set<Long> existing = new HashSet<>(placePostRepository.findPlaceIdsByPostId(postId));
+
+        List<Long> removed = existing.stream().filter(id -> !placeIds.contains(id)).collect(Collectors.toList());
+        List<Long> added = placeIds.stream().filter(id -> !existing.contains(id)).collect(Collectors.toList());
+
+        if (!removed.isEmpty()) {
+            placePostRepository.deleteByPostIdAndPlaceIds(postId, removed);
+            placeRepository.decrementPostCount(removed);
+        }
+        if (!added.isEmpty()) {
+            placePostRepository.saveAll(added.stream()
+                    .map(placeId -> PlacePostEntity.builder().placeId(placeId).postId(postId).build())
+                    .collect(Collectors.toList()));
+            placeRepository.incrementPostCount(added);
+        }
+        logger.debug("장소 색인 갱신: postId={}, 추가={}, 삭제={}", postId, added.size(), removed.size());
+    }
+
+    // 게시글 삭제 시 장소 연결 해제
+    @Transactional
+    public void removePost(Long postId) {
+        syncPostPlaces(postId, List.of());
+    }
+
+    // 정규화된 장소명으로 장소 조회
+    @Transactional(readOnly = true)
+    public Optional<PlaceEntity> findPlace(String placeName) {
+        String canonical = canonicalize(placeName);
+        return canonical == null ? Optional.empty() : placeRepository.findByCanonicalName(canonical);
+    }
+
+    // 장소별 게시글 ID (최신순, cursor 가 있으면 그 이전 게시글부터)
+    @Transactional(readOnly = true)
+    public List<Long> findPostIds(Long placeId, Long cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return cursor == null
+                ? placePostRepository.findPostIds(placeId, page)
+                : placePostRepository.findPostIdsBefore(placeId, cursor, page);
+    }
+
+    // 가장 많이 언급된 장소
+    @Transactional(readOnly = true)
+    public List<PlaceDTO> getTopPlaces(Integer limit) {
+        int size = (limit == null || limit <= 0) ? DEFAULT_TOP_PLACES : Math.min(limit, MAX_TOP_PLACES);
+        return placeRepository.findByPostCountGreaterThanOrderByPostCountDesc(0, PageRequest.of(0, size)).stream()
+                .map(place -> PlaceDTO.builder()
+                        .placeId(place.getId())
+                        .placeName(place.getDisplayName())
+                        .postCount(place.getPostCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // 장소 사전에 아직 반영되지 않은 기존 게시글(post_places)을 채움
+    // - 처음에는 전체, 이전 구성이 중간에 실패했으면 연결이 없는 첫 게시글부터 이어서 (syncPostPlaces 는 멱등)
+    // - 배치가 실패하면 거기서 멈추고 다음 시작 때 다시 이어감
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMissing() {
+        Optional<Long> firstMissing = postRepository.findFirstPostIdWithoutPlaceIndex();
+        if (firstMissing.isEmpty()) {
+            return;
+        }
+
+        long lastPostId = firstMissing.get() - 1;
+        int indexed = 0;
+        while (true) {
+            List<Long> postIds = postRepository.findPostIdsAfter(lastPostId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (postIds.isEmpty()) {
+                break;
+            }
+
+            Map<Long, List<String>> places = new HashMap<>();
+            for (Object[] row : postRepository.findPlacesByPostIds(postIds)) {
+                places.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+            }
+
+            // 배치 단위 트랜잭션
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        places.forEach((postId, postPlaces) -> syncPostPlaces(postId, postPlaces)));
+            } catch (Exception e) {
+                logger.error("장소 사전 구성 중단 (다음 시작 시 postId={} 부터 재개): {}", postIds.get(0), e.getMessage(), e);
+                return;
+            }
+
+            indexed += postIds.size();
+            lastPostId = postIds.get(postIds.size() - 1);
+        }
+        logger.info("장소 사전 구성 완료: postId={} 부터 {}개 게시글", firstMissing.get(), indexed);
+    }
+
+    // 정규화된 이름들의 장소 ID 조회 (없는 장소는 upsert 로 생성)
+    // 다시 SELECT 하지 않음 - REPEATABLE READ 에서는 다른 트랜잭션이 방금 만든 장소가 스냅샷에 보이지 않아
+    // 연결이 빠질 수 있으므로, upsert 가 돌려주는 LAST_INSERT_ID 로 새로 만든/이미 있던 행의 ID 를 얻음
+    private Set<Long> resolvePlaceIds(Map<String, String> names) {
+        if (names.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> placeIds = new HashSet<>();
+        Set<String> known = new HashSet<>();
+        for (PlaceEntity place : placeRepository.findByCanonicalNameIn(names.keySet())) {
+            placeIds.add(place.getId());
+            known.add(place.getCanonicalName());
+        }
+        names.forEach((canonical, displayName) -> {
+            if (!known.contains(canonical)) {
+                placeRepository.upsert(canonical, displayName);
+                placeIds.add(placeRepository.selectLastInsertId());
+            }
+        });
+        return placeIds;
+    }
+}
@@ -0,0 +1,115 @@
+package com.korea.travel.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korea.travel.dto.PostDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글 상세 조회 Redis 캐시 (read-through)
+ * - key: post:detail:{postId}, value: PostDTO JSON
+ * - Redis 장애 시에는 캐시를 건너뛰고 DB 조회로 동작
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCacheService {
+
+    private static final String KEY_PREFIX = "post:detail:";
+
+    private final RedisUtil redisUtil;
+    private final ObjectMapper objectMapper;
+
+    private final Logger logger = LoggerFactory.getLogger(PostCacheService.class);
+
+    @Value("${post.cache.ttl-seconds:600}") // 캐시 유지 시간 (초)
+    private long ttlSeconds;
+
+    // 캐시 조회
+    public Optional<PostDTO> get(Long postId) {
+        try {
+            String json = redisUtil.getData(KEY_PREFIX + postId);
+            if (json == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(json, PostDTO.class));
+        } catch (Exception e) {
+            logger.warn("게시글 캐시 조회 실패: ID={}, {}", postId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // 여러 건 캐시 조회 (MGET 한 번) - 적중한 것만 postId -> PostDTO 로 반환
+    public Map<Long, PostDTO> getAll(List<Long> postIds) {
+        Map<Long, PostDTO> hits = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return hits;
+        }
+        try {
+            List<String> keys = new ArrayList<>(postIds.size());
+            for (Long postId : postIds) {
+                keys.add(KEY_PREFIX + postId);
+            }
+            List<String> values = redisUtil.getDataList(keys);
+            if (values == null) {
+                return hits;
+            }
+            for (int i = 0; i < postIds.size() && i < values.size(); i++) {
+                String json = values.get(i);
+                if (json != null) {
+                    hits.put(postIds.get(i), objectMapper.readValue(json, PostDTO.class));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("게시글 캐시 일괄 조회 실패: {}건, {}", postIds.size(), e.getMessage());
+            hits.clear();
+        }
+        return hits;
+    }
+
+    // 캐시 저장
+    public void put(PostDTO post) {
+        try {
+            redisUtil.setDataExpire(KEY_PREFIX + post.getPostId(), objectMapper.writeValueAsString(post), ttlSeconds);
+        } catch (JsonProcessingException e) {
+            logger.warn("게시글 캐시 직렬화 실패: ID={}, {}", post.getPostId(), e.getMessage());
+        } catch (Exception e) {
+            logger.warn("게시글 캐시 저장 실패: ID={}, {}", post.getPostId(), e.getMessage());
+        }
+    }
+
+    // 캐시 삭제 - 즉시 삭제 후, 트랜잭션 안이면 커밋 이후에 한 번 더 삭제
+    // (커밋 전에 다른 요청이 이전 값을 다시 캐시에 넣는 경우 방지)
+    public void evict(Long postId) {
+        delete(postId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(postId);
+                }
+            });
+        }
+    }
+
+    private void delete(Long postId) {
+        try {
+            redisUtil.deleteData(KEY_PREFIX + postId);
+        } catch (Exception e) {
+            logger.warn("게시글 캐시 삭제 실패: ID={}, {}", postId, e.getMessage());
+        }
+    }
+}
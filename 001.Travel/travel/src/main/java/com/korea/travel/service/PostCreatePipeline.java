@@ -0,0 +1,72 @@
+package com.korea.travel.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.korea.travel.dto.PostDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글 작성 파이프라인: 이미지 병렬 저장 -> (모두 끝나면) DB 저장
+ * - 요청 스레드는 파이프라인을 시작만 하고 바로 반환 (컨트롤러가 CompletableFuture 로 비동기 응답)
+ * - DB 저장이 실패하면 이미 저장한 이미지의 참조를 해제한다 (마지막 참조면 파일 삭제)
+ * - 단계별 소요 시간: post.create.stage{stage=write|insert|total, outcome=success|error}
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCreatePipeline {
+
+    private final PostService postService;
+
+    private final ImageStorageService imageStorageService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(PostCreatePipeline.class);
+
+    public CompletableFuture<PostDTO> create(String userId, PostDTO postDTO, List<MultipartFile> files) {
+        long startedAt = System.nanoTime();
+        
+        return imageStorageService.storeAllAsync(files)
+                .whenComplete((urls, error) -> record("write", startedAt, error))
+                .thenApply(urls -> {
+                    if (!urls.isEmpty()) {
+                        postDTO.setImageUrls(urls);
+                    } else {
+                        logger.info("첨부 파일 없음");
+                    }
+                    
+                    long insertStartedAt = System.nanoTime();
+                    try {
+                        PostDTO created = postService.createPostWithStringUserId(userId, postDTO);
+                        record("insert", insertStartedAt, null);
+                        return created;
+                    } catch (RuntimeException e) {
+                        record("insert", insertStartedAt, e);
+                        imageStorageService.releaseAll(urls);
+                        throw e;
+                    }
+                })
+                .whenComplete((created, error) -> {
+                    record("total", startedAt, error);
+                    if (error == null) {
+                        logger.info("게시글 작성 파이프라인 완료: ID={}, 이미지={}개, {}ms", created.getPostId(),
+                                created.getImageUrls() != null ? created.getImageUrls().size() : 0,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    }
+                });
+    }
+
+    private void record(String stage, long startedAt, Throwable error) {
+        meterRegistry.timer("post.create.stage", "stage", stage, "outcome", error == null ? "success" : "error")
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,177 @@
+package com.korea.travel.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.korea.travel.dto.PostEventDTO;
+import com.korea.travel.persistence.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 게시글 변경 이벤트 SSE 브로드캐스터
+ * - PostService / LikeService 가 커밋 이후에 변경을 알리면 게시글별로 모아 두었다가
+ *   post.events.coalesce-ms 주기로 한 번에 내보낸다 (좋아요 연타 -> 이벤트 1건)
+ * - 좋아요 수는 내보낼 때 모인 게시글들에 대해 쿼리 한 번으로 조회
+ * - 구독자는 Reactor 멀티캐스트 Sink 를 구독하므로 연결당 스레드를 쓰지 않고,
+ *   느린 구독자에게는 이벤트를 버린다 (다른 구독자와 스케줄러를 막지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class PostEventService {
+
+    private final PostRepository postRepository;
+
+    private final Logger logger = LoggerFactory.getLogger(PostEventService.class);
+
+    @Value("${post.events.heartbeat-seconds:25}") // 유휴 연결 유지용 주석 이벤트 주기 (초)
+    private long heartbeatSeconds;
+
+    @Value("${post.events.max-subscribers:10000}") // 동시 구독자 상한
+    private int maxSubscribers;
+
+    // 아직 내보내지 않은 게시글별 변경 (postId -> 합쳐진 변경)
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // 스케줄러 스레드 한 곳에서만 emit 하므로 단일 생산자 Sink 사용
+    private final Sinks.Many<ServerSentEvent<PostEventDTO>> sink =
+            Sinks.many().multicast().directBestEffort();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // 게시글 생성/수정/삭제 알림
+    public void postCreated(Long postId) {
+        publish(postId, PostEventDTO.Type.CREATED, false);
+    }
+
+    public void postUpdated(Long postId) {
+        publish(postId, PostEventDTO.Type.UPDATED, false);
+    }
+
+    public void postDeleted(Long postId) {
+        publish(postId, PostEventDTO.Type.DELETED, false);
+    }
+
+    // 좋아요 수 변경 알림
+    public void likesChanged(Long postId) {
+        publish(postId, PostEventDTO.Type.LIKES, true);
+    }
+
+    // 구독 - 상한을 넘으면 IllegalStateException
+    public Flux<ServerSentEvent<PostEventDTO>> subscribe() {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new IllegalStateException("구독자 수가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        Flux<ServerSentEvent<PostEventDTO>> heartbeat = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<PostEventDTO>builder().comment("keep-alive").build());
+        return Flux.merge(sink.asFlux(), heartbeat)
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    // 모아 둔 변경을 게시글당 이벤트 1건으로 내보내기
+    @Scheduled(fixedDelayString = "${post.events.coalesce-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Pending> batch = new HashMap<>();
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            Pending change = pending.remove(postId);
+            if (change != null) {
+                batch.put(postId, change);
+            }
+        }
+        if (subscribers.get() == 0) {
+            return;
+        }
+
+        Map<Long, Integer> likeCounts = loadLikeCounts(batch);
+        for (Map.Entry<Long, Pending> entry : batch.entrySet()) {
+            PostEventDTO event = PostEventDTO.builder()
+                    .type(entry.getValue().type)
+                    .postId(entry.getKey())
+                    .likes(likeCounts.get(entry.getKey()))
+                    .build();
+            sink.tryEmitNext(ServerSentEvent.<PostEventDTO>builder()
+                    .event(event.getType().name().toLowerCase())
+                    .data(event)
+                    .build());
+        }
+    }
+
+    private Map<Long, Integer> loadLikeCounts(Map<Long, Pending> batch) {
+        List<Long> postIds = new ArrayList<>();
+        batch.forEach((postId, change) -> {
+            if (change.likesChanged && change.type != PostEventDTO.Type.DELETED) {
+                postIds.add(postId);
+            }
+        });
+        Map<Long, Integer> likeCounts = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return likeCounts;
+        }
+        try {
+            for (Object[] row : postRepository.findLikeCountsByPostIds(postIds)) {
+                likeCounts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        } catch (Exception e) {
+            logger.warn("이벤트용 좋아요 수 조회 실패: {}건, {}", postIds.size(), e.getMessage());
+        }
+        return likeCounts;
+    }
+
+    // 트랜잭션 안이면 커밋 이후에만 반영 (롤백된 변경은 알리지 않음)
+    private void publish(Long postId, PostEventDTO.Type type, boolean likesChanged) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(postId, type, likesChanged);
+                }
+            });
+        } else {
+            enqueue(postId, type, likesChanged);
+        }
+    }
+
+    private void enqueue(Long postId, PostEventDTO.Type type, boolean likesChanged) {
+        pending.merge(postId, new Pending(type, likesChanged), Pending::merge);
+    }
+
+    private static class Pending {
+        private final PostEventDTO.Type type;
+        private final boolean likesChanged;
+
+        Pending(PostEventDTO.Type type, boolean likesChanged) {
+            this.type = type;
+            this.likesChanged = likesChanged;
+        }
+
+        // 종류는 우선순위가 높은 쪽, 좋아요 변경 여부는 OR
+        Pending merge(Pending other) {
+            PostEventDTO.Type merged = type.compareTo(other.type) >= 0 ? type : other.type;
+            return new Pending(merged, likesChanged || other.likesChanged);
+        }
+    }
+}
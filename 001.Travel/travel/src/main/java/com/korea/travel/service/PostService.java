@@ -1,35 +1,43 @@
 package com.korea.travel.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.korea.travel.dto.PostDTO;
+import com.korea.travel.dto.PostSummaryDTO;
+import com.korea.travel.dto.ResponseDTO;
 import com.korea.travel.model.PostEntity;
-import com.korea.travel.model.SocialEntity;
 import com.korea.travel.model.UserEntity;
-import com.korea.travel.persistence.LikeRepository;
 import com.korea.travel.persistence.PostRepository;
-import com.korea.travel.persistence.SocialRepository;
 import com.korea.travel.persistence.UserRepository;
+import com.korea.travel.search.PostSearchIndex;
+import com.korea.travel.service.ImageDerivativeService.Variant;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -40,91 +48,338 @@ public class PostService {
    
    private final UserRepository userRepository;
    
-   private final LikeRepository likeRepository;
+   private final PostCacheService postCacheService;
    
-   private final SocialRepository socialRepository;
+   private final PostSearchIndex postSearchIndex;
+   
+   private final PlaceService placeService;
+   
+   private final PostEventService postEventService;
+   
+   private final ImageStorageService imageStorageService;
+   
+   private final ImageDerivativeService imageDerivativeService;
+   
+   private final FeedVersionService feedVersionService;
+   
+   private final LikeWriteBuffer likeWriteBuffer;
+   
+   private final UserIdentityResolver userIdentityResolver;
+   
+   private final TransactionTemplate transactionTemplate;
+   
+   private final EntityManager entityManager;
+   
+   private final ObjectMapper objectMapper;
    
    private final Logger logger = LoggerFactory.getLogger(PostService.class);
    
-   @Value("${file.upload-dir}") // 파일 저장 경로 설정
-   private String uploadDir;
+   // 내보내기 시 한 번에 영속성 컨텍스트에 유지하는 게시글 수 (장소/이미지 배치 로딩 단위)
+   private static final int EXPORT_CHUNK_SIZE = 100;
+   
+   // 게시판 페이지 크기 (기본값 / 최대값)
+   public static final int DEFAULT_PAGE_SIZE = 20;
+   public static final int MAX_PAGE_SIZE = 50;
+   
+   // 일괄 상세 조회 한 번에 받을 수 있는 최대 ID 수 (@BatchSize 와 맞춤)
+   public static final int MAX_BATCH_IDS = 100;
 
-   // 게시판 전체 조회
+   // 게시판 전체 조회 (페이지네이션 없이 전체 테이블 반환 - 기존 클라이언트 호환용)
+   @Transactional(readOnly = true)
    public List<PostDTO> getAllPosts() {
-       return postRepository.findAll().stream()
+       return applyPendingLikes(applyDerivedImages(postRepository.findAllWithUser().stream()
                .map(this::convertToDTO)
+               .collect(Collectors.toList())));
+   }
+   
+   // 게시판 조회 - 커서(keyset) 기반 페이지네이션 (postId 내림차순, 목록 카드용 경량 DTO)
+   @Transactional(readOnly = true)
+   public ResponseDTO<PostSummaryDTO> getPostsPage(String cursor, Integer size) {
+       int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+       
+       // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회 (LIMIT pageSize + 1)
+       PageRequest limit = PageRequest.of(0, pageSize + 1);
+       List<PostSummaryDTO> posts = (cursor == null || cursor.isBlank())
+               ? postRepository.findSummaries(limit)
+               : postRepository.findSummariesBefore(decodeCursor(cursor), limit);
+       
+       String nextCursor = null;
+       if (posts.size() > pageSize) {
+           posts = posts.subList(0, pageSize);
+           nextCursor = encodeCursor(posts.get(pageSize - 1).getPostId());
+       }
+       
+       fillThumbnails(posts);
+       applyPendingSummaryLikes(posts);
+       return ResponseDTO.<PostSummaryDTO>builder().data(posts).nextCursor(nextCursor).build();
+   }
+   
+   // 게시글 검색 - 인메모리 n-gram 색인에서 순위를 매긴 뒤 해당 페이지의 게시글만 DB에서 조회
+   @Transactional(readOnly = true)
+   public ResponseDTO<PostSummaryDTO> searchPosts(String query, Integer page, Integer size) {
+       int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+       int pageNumber = (page == null || page < 0) ? 0 : page;
+       
+       PostSearchIndex.Result result = postSearchIndex.search(query, pageNumber * pageSize, pageSize);
+       List<Long> postIds = result.getPostIds();
+       
+       List<PostSummaryDTO> posts = new ArrayList<>();
+       if (!postIds.isEmpty()) {
+           // 색인 순위대로 정렬 (색인 후 삭제된 게시글은 제외)
+           Map<Long, PostSummaryDTO> found = postRepository.findSummariesByPostIds(postIds).stream()
+                   .collect(Collectors.toMap(PostSummaryDTO::getPostId, post -> post));
+           postIds.stream().map(found::get).filter(post -> post != null).forEach(posts::add);
+           fillThumbnails(posts);
+           applyPendingSummaryLikes(posts);
+       }
+       
+       // 다음 페이지가 있으면 다음 페이지 번호를 커서로 전달
+       String nextCursor = (long) (pageNumber + 1) * pageSize < result.getTotal()
+               ? String.valueOf(pageNumber + 1) : null;
+       logger.info("게시글 검색: q={}, 전체 {}건 중 {}건 반환", query, result.getTotal(), posts.size());
+       return ResponseDTO.<PostSummaryDTO>builder().data(posts).nextCursor(nextCursor).build();
+   }
+   
+   // 장소별 게시글 조회 - place_posts 역색인으로 postId 를 찾은 뒤 해당 페이지만 요약 조회
+   @Transactional(readOnly = true)
+   public ResponseDTO<PostSummaryDTO> getPostsAtPlace(String placeName, String cursor, Integer size) {
+       int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+       Long placeId = placeService.findPlace(placeName)
+               .orElseThrow(() -> new IllegalArgumentException("등록된 장소가 아닙니다: " + placeName))
+               .getId();
+       
+       List<Long> postIds = placeService.findPostIds(placeId,
+               (cursor == null || cursor.isBlank()) ? null : decodeCursor(cursor), pageSize + 1);
+       
+       String nextCursor = null;
+       if (postIds.size() > pageSize) {
+           postIds = postIds.subList(0, pageSize);
+           nextCursor = encodeCursor(postIds.get(pageSize - 1));
+       }
+       
+       List<PostSummaryDTO> posts = new ArrayList<>();
+       if (!postIds.isEmpty()) {
+           Map<Long, PostSummaryDTO> found = postRepository.findSummariesByPostIds(postIds).stream()
+                   .collect(Collectors.toMap(PostSummaryDTO::getPostId, post -> post));
+           postIds.stream().map(found::get).filter(post -> post != null).forEach(posts::add);
+           fillThumbnails(posts);
+           applyPendingSummaryLikes(posts);
+       }
+       return ResponseDTO.<PostSummaryDTO>builder().data(posts).nextCursor(nextCursor).build();
+   }
+   
+   // 페이지 전체의 이미지 URL을 한 번의 쿼리로 가져와 게시글별 첫 번째 이미지를 썸네일로 설정
+   private void fillThumbnails(List<PostSummaryDTO> posts) {
+       if (posts.isEmpty()) {
+           return;
+       }
+       List<Long> postIds = posts.stream().map(PostSummaryDTO::getPostId).collect(Collectors.toList());
+       Map<Long, String> thumbnails = new LinkedHashMap<>();
+       for (Object[] row : postRepository.findImageUrlsByPostIds(postIds)) {
+           thumbnails.putIfAbsent((Long) row[0], (String) row[1]);
+       }
+       Map<String, String> derived = imageDerivativeService.thumbnailUrls(thumbnails.values());
+       posts.forEach(post -> {
+           String original = thumbnails.get(post.getPostId());
+           post.setThumbnail(derived.getOrDefault(original, original));
+       });
+   }
+   
+   // write-behind 버퍼의 아직 기록하지 않은 좋아요 증감을 목록 카드 좋아요 수에 반영
+   private void applyPendingSummaryLikes(List<PostSummaryDTO> posts) {
+       if (!likeWriteBuffer.isEnabled()) {
+           return;
+       }
+       posts.forEach(post -> post.setLikes(Math.max(0, post.getLikes() + likeWriteBuffer.getDelta(post.getPostId()))));
+   }
+   
+   // 상세 DTO 좋아요 수에 미기록 증감 반영 - 캐시에는 DB 기준 값만 저장하므로 캐시에 넣은 뒤(또는 꺼낸 뒤) 호출
+   private List<PostDTO> applyPendingLikes(List<PostDTO> posts) {
+       if (!likeWriteBuffer.isEnabled()) {
+           return posts;
+       }
+       posts.forEach(post -> post.setLikes(Math.max(0, post.getLikes() + likeWriteBuffer.getDelta(post.getPostId()))));
+       return posts;
+   }
+   
+   // 파생 이미지가 준비된 이미지는 thumbnail 을 썸네일 URL 로, mediumImageUrls 를 중간 크기 URL 로 채움 (목록 전체에 쿼리 한 번)
+   // 아직 준비되지 않았거나 변환할 수 없는 이미지는 원본 URL 그대로
+   private List<PostDTO> applyDerivedImages(List<PostDTO> posts) {
+       List<String> originals = posts.stream()
+               .filter(post -> post.getImageUrls() != null)
+               .flatMap(post -> post.getImageUrls().stream())
+               .filter(ImageStorageService::isBlobUrl)
                .collect(Collectors.toList());
+       Set<String> ready = originals.isEmpty() ? Set.of() : imageDerivativeService.readyUrls(originals);
+       for (PostDTO post : posts) {
+           if (post.getImageUrls() == null) {
+               continue;
+           }
+           post.setMediumImageUrls(post.getImageUrls().stream()
+                   .map(url -> ready.contains(url) ? ImageDerivativeService.derivativeUrl(url, Variant.MEDIUM) : url)
+                   .collect(Collectors.toList()));
+           if (post.getThumbnail() != null && ready.contains(post.getThumbnail())) {
+               post.setThumbnail(ImageDerivativeService.derivativeUrl(post.getThumbnail(), Variant.THUMB));
+           }
+       }
+       return posts;
+   }
+   
+   // 커서 인코딩 - 클라이언트에는 불투명한 문자열로 전달
+   private String encodeCursor(Long postId) {
+       return Base64.getUrlEncoder().withoutPadding()
+               .encodeToString(String.valueOf(postId).getBytes(StandardCharsets.UTF_8));
+   }
+   
+   // 커서 디코딩 - 잘못된 커서는 IllegalArgumentException
+   private Long decodeCursor(String cursor) {
+       try {
+           String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+           return Long.parseLong(decoded);
+       } catch (IllegalArgumentException e) {
+           logger.warn("유효하지 않은 커서: {}", cursor);
+           throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+       }
    }
    
    // 마이 게시판 조회
+   @Transactional
    public List<PostDTO> getMyPosts(Long userId) {
       Optional<UserEntity> user = userRepository.findById(userId);
       
       if(user.isPresent()) {
    	   List<PostEntity> posts = postRepository.findByUserEntity(user.get());
       
-          return posts.stream()
+          return applyPendingLikes(applyDerivedImages(posts.stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
       }
       else {
          throw new IllegalArgumentException("User not found");
       }
    }
    
-   // 마이 게시판 조회 - String ID 지원
+   // 마이 게시판 조회 - String ID 지원 (조회 경로이므로 사용자를 생성하지 않음)
+   @Transactional(readOnly = true)
    public List<PostDTO> getMyPostsByStringId(String userId) {
        logger.info("마이 게시판 조회 시작 - 사용자 ID: {}, 타입: {}", userId, userId.getClass().getName());
        try {
-           UserEntity user = findUserByStringId(userId);
-           logger.info("사용자 조회 성공: ID={}, 닉네임={}", user.getId(), user.getUserNickName());
+           Optional<Long> found = userIdentityResolver.findId(userId);
+           if (found.isEmpty()) {
+               // 아직 글을 쓴 적 없는 소셜 사용자
+               logger.info("연결된 사용자 없음 - 게시글 없음: {}", userId);
+               return new ArrayList<>();
+           }
+           logger.info("사용자 조회 성공: ID={}", found.get());
            
-           List<PostEntity> posts = postRepository.findByUserEntity(user);
+           List<PostEntity> posts = postRepository.findByUserEntity(userRepository.getReferenceById(found.get()));
            logger.info("게시글 조회 결과: {}개 게시글 발견", posts.size());
-           return posts.stream()
+           return applyPendingLikes(applyDerivedImages(posts.stream()
                    .map(this::convertToDTO)
-                   .collect(Collectors.toList());
+                   .collect(Collectors.toList())));
        } catch (Exception e) {
            logger.error("게시글 조회 중 오류: {}", e.getMessage(), e);
            throw new RuntimeException("게시글 조회 중 오류: " + e.getMessage());
        }
    }
    
-   // 게시글 한 건 조회
+   // 게시글 한 건 조회 (Redis 캐시 우선, 없으면 DB 조회 후 캐시에 저장)
    @Transactional(readOnly = true)// 데이터 읽기 전용 트랜잭션
    public PostDTO getPostById(Long id) {
    	logger.info("게시글 조회 서비스 호출: ID={}", id);
    	
-       Optional<PostEntity> board = postRepository.findById(id);
+       Optional<PostDTO> cached = postCacheService.get(id);
+       if (cached.isPresent()) {
+           logger.info("게시글 캐시 적중: ID={}", id);
+           return applyPendingLikes(List.of(cached.get())).get(0);
+       }
+   	
+       Optional<PostEntity> board = postRepository.findWithDetailByPostId(id);
        if(board.isPresent()) {
            logger.info("게시글 찾음: ID={}, 제목={}", id, board.get().getPostTitle());
-       	return board.map(this::convertToDTO)
-                   .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+           PostDTO dto = convertToDTO(board.get());
+           applyDerivedImages(List.of(dto));
+           postCacheService.put(dto);
+           return applyPendingLikes(List.of(dto)).get(0);
        }else {
            logger.warn("게시글을 찾을 수 없음: ID={}", id);
        	throw new RuntimeException("게시글을 찾을 수 없습니다.");
    	}
    }
    
+   // 게시글 여러 건 상세 조회 (요청 순서 유지, 없는 ID는 missingIds 로 보고)
+   // 캐시 MGET 한 번 + 캐시 miss 분만 findAllById 한 번 (작성자/장소/이미지는 @BatchSize 배치 로딩)
+   @Transactional(readOnly = true)
+   public ResponseDTO<PostDTO> getPostsByIds(List<Long> ids) {
+       List<Long> requested = ids.stream()
+               .filter(id -> id != null)
+               .distinct()
+               .collect(Collectors.toList());
+       if (requested.isEmpty()) {
+           throw new IllegalArgumentException("조회할 게시글 ID가 없습니다.");
+       }
+       if (requested.size() > MAX_BATCH_IDS) {
+           throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_IDS + "개까지 조회할 수 있습니다.");
+       }
+       
+       Map<Long, PostDTO> found = new LinkedHashMap<>(postCacheService.getAll(requested));
+       
+       List<Long> misses = requested.stream()
+               .filter(id -> !found.containsKey(id))
+               .collect(Collectors.toList());
+       if (!misses.isEmpty()) {
+           List<PostDTO> loaded = applyDerivedImages(postRepository.findAllById(misses).stream()
+                   .map(this::convertToDTO)
+                   .collect(Collectors.toList()));
+           for (PostDTO dto : loaded) {
+               postCacheService.put(dto);
+               found.put(dto.getPostId(), dto);
+           }
+       }
+       
+       List<PostDTO> posts = new ArrayList<>(found.size());
+       List<Long> missingIds = new ArrayList<>();
+       for (Long id : requested) {
+           PostDTO dto = found.get(id);
+           if (dto != null) {
+               posts.add(dto);
+           } else {
+               missingIds.add(id);
+           }
+       }
+       applyPendingLikes(posts);
+       logger.info("게시글 일괄 조회: 요청={}, 캐시 적중={}, 없음={}",
+               requested.size(), requested.size() - misses.size(), missingIds.size());
+       
+       return ResponseDTO.<PostDTO>builder()
+               .data(posts)
+               .missingIds(missingIds.isEmpty() ? null : missingIds)
+               .build();
+   }
+   
    // 게시글 생성
+   @Transactional
    public PostDTO createPost(PostDTO postDTO) {
        logger.info("게시글 생성 시작: 제목={}, 작성자={}", postDTO.getPostTitle(), postDTO.getUserNickname());
        PostEntity savedEntity = postRepository.save(convertToEntity(postDTO));
+       postSearchIndex.index(savedEntity.getPostId(), savedEntity.getPostTitle(),
+               savedEntity.getPostContent(), savedEntity.getPlaceList());
+       placeService.syncPostPlaces(savedEntity.getPostId(), savedEntity.getPlaceList());
+       postEventService.postCreated(savedEntity.getPostId());
+       feedVersionService.changed();
        logger.info("게시글 생성 완료: ID={}", savedEntity.getPostId());
-       return convertToDTO(savedEntity);
+       return applyDerivedImages(List.of(convertToDTO(savedEntity))).get(0);
    }
    
    // 게시글 생성 - String ID 지원
+   // 사용자 변환(연결 UserEntity 생성 포함)을 먼저 끝낸 뒤 게시글 트랜잭션을 연다 (커넥션 중첩 방지)
    public PostDTO createPostWithStringUserId(String userId, PostDTO postDTO) {
        logger.info("문자열 ID로 게시글 생성 시작: userId={}, 타입={}", userId, userId.getClass().getName());
        try {
            // 통합 사용자 조회 서비스 사용
            logger.info("사용자 조회 시도: ID={}", userId);
-           UserEntity user = findUserByStringId(userId);
-           logger.info("사용자 조회 결과: ID={}, 닉네임={}", user.getId(), user.getUserNickName());
-           
-           postDTO.setUserEntity(user);
-           logger.info("게시글 DTO에 사용자 엔티티 설정 완료");
+           Long userEntityId = userIdentityResolver.findOrCreateId(userId);
+           logger.info("사용자 조회 결과: ID={}", userEntityId);
            
            // 소셜 로그인 정보 추가
            String authProvider = null;
@@ -142,8 +397,11 @@ public class PostService {
            postDTO.setSocialId(socialId);
            logger.info("소셜 로그인 정보 설정: provider={}, socialId={}", authProvider, socialId);
            
-           // 기존 기능 호출
-           return createPost(postDTO);
+           // 기존 기능 호출 - 작성자는 참조만 설정 (SELECT 없음)
+           return transactionTemplate.execute(status -> {
+               postDTO.setUserEntity(userRepository.getReferenceById(userEntityId));
+               return createPost(postDTO);
+           });
        } catch (Exception e) {
            logger.error("게시글 생성 중 오류: {}", e.getMessage(), e);
            throw new RuntimeException("게시글 생성 중 오류: " + e.getMessage());
@@ -152,43 +410,11 @@ public class PostService {
 
    public List<String> saveFiles(List<MultipartFile> files) {
        logger.info("파일 저장 시작: {}개 파일", files != null ? files.size() : 0);
-       List<String> fileUrls = new ArrayList<>();
-       
-       if (files == null || files.isEmpty()) {
-           logger.info("저장할 파일이 없습니다");
-           return fileUrls;
-       }
-       
-       for (MultipartFile file : files) {
-           try {
-               String originalFilename = file.getOriginalFilename();
-               logger.info("파일 저장 중: 원본 파일명={}, 크기={}bytes", originalFilename, file.getSize());
-               
-               String fileName = UUID.randomUUID() + "_" + originalFilename.replaceAll("[^a-zA-Z0-9._-]", "_");
-               // 하드코딩된 경로 대신 환경 변수 사용
-               Path uploadPath = Paths.get(uploadDir);
-               Path filePath = uploadPath.resolve(fileName);
-               
-               // 디렉토리 존재 확인 및 생성
-               if (!Files.exists(uploadPath)) {
-                   logger.info("업로드 디렉토리가 존재하지 않아 생성합니다: {}", uploadPath);
-                   Files.createDirectories(uploadPath);
-               }
-               
-               Files.write(filePath, file.getBytes());
-               String fileUrl = "/uploads/" + fileName;
-               fileUrls.add(fileUrl);
-               logger.info("파일 저장 완료: URL={}", fileUrl);
-           } catch (IOException e) {
-               logger.error("파일 저장 중 오류 발생: {}", e.getMessage(), e);
-               throw new RuntimeException("파일 저장 중 오류 발생", e);
-           }
-       }
-       logger.info("총 {}개 파일 저장 완료", fileUrls.size());
-       return fileUrls;
+       return imageStorageService.storeAll(files);
    }
    
  //게시글 수정
+   @Transactional
    public PostDTO updatePost(Long id, String postTitle, String postContent, List<String> placeListParsed, 
            String userNickName, List<MultipartFile> files, List<String> existingImageUrls) {
        logger.info("게시글 수정 시작: ID={}, 제목={}", id, postTitle);
@@ -225,37 +451,68 @@ public class PostService {
        
        // 파일 처리 및 이미지 URL 업데이트
        List<String> updatedImageUrls = new ArrayList<>();
+       List<String> currentImageUrls = postEntity.getImageUrls() != null
+               ? new ArrayList<>(postEntity.getImageUrls()) : new ArrayList<>();
        
-       // 기존 이미지 URL 유지 (만약 있다면)
+       // 기존 이미지 URL 유지 (만약 있다면) - 이 게시글에 실제로 있던 이미지만 (이미지 참조 수 보호)
+       // 항목 하나가 참조 하나이므로 다중집합으로 처리: 같은 URL 을 여러 번 보내도 한 번만 유지,
+       // 유지한 만큼 남은 항목에서 하나씩 빼고 남은 것이 해제 대상
+       List<String> remainingImageUrls = new ArrayList<>(currentImageUrls);
        if (existingImageUrls != null && !existingImageUrls.isEmpty()) {
            logger.info("기존 이미지 URL 유지: {}", existingImageUrls);
-           updatedImageUrls.addAll(existingImageUrls);
+           for (String url : new LinkedHashSet<>(existingImageUrls)) {
+               if (remainingImageUrls.remove(url)) {
+                   updatedImageUrls.add(url);
+               } else {
+                   logger.warn("게시글에 없는 기존 이미지 URL 무시: {}", url);
+               }
+           }
        }
        
-       // 새 파일 업로드 및 URL 추가
+       // 새 파일 업로드 및 URL 추가 (수정이 롤백되면 새로 저장한 이미지 참조 해제)
        if (files != null && !files.isEmpty()) {
            logger.info("새 파일 업로드 처리: {}개 파일", files.size());
            List<String> newFileUrls = saveFiles(files);
+           imageStorageService.releaseOnRollback(newFileUrls);
            updatedImageUrls.addAll(newFileUrls);
        }
        
+       // 빠진 이미지는 커밋 이후 참조 해제
+       imageStorageService.releaseAfterCommit(remainingImageUrls);
+       
        // 게시글에 업데이트된 이미지 URL 설정
        postEntity.setImageUrls(updatedImageUrls);
        logger.info("게시글 이미지 URL 업데이트 완료: {}개 이미지", updatedImageUrls.size());
        
        // 변경사항 저장
        PostEntity updatedEntity = postRepository.save(postEntity);
+       postRepository.incrementRevision(id);
+       postCacheService.evict(id);
+       postSearchIndex.index(id, postTitle, postContent, postEntity.getPlaceList());
+       placeService.syncPostPlaces(id, postEntity.getPlaceList());
+       postEventService.postUpdated(id);
+       feedVersionService.changed();
        logger.info("게시글 업데이트 완료: ID={}", updatedEntity.getPostId());
        
        // DTO로 변환하여 반환
-       return convertToDTO(updatedEntity);
+       return applyPendingLikes(applyDerivedImages(List.of(convertToDTO(updatedEntity)))).get(0);
    }
    
    // 게시글 삭제
+   @Transactional
    public boolean deletePost(Long id) {
        logger.info("게시글 삭제 시도: ID={}", id);
-       if (postRepository.existsById(id)) {
-           postRepository.deleteById(id);
+       Optional<PostEntity> post = postRepository.findById(id);
+       if (post.isPresent()) {
+           List<String> imageUrls = post.get().getImageUrls() != null
+                   ? new ArrayList<>(post.get().getImageUrls()) : List.of();
+           postRepository.delete(post.get());
+           imageStorageService.releaseAfterCommit(imageUrls);
+           postCacheService.evict(id);
+           postSearchIndex.remove(id);
+           placeService.removePost(id);
+           postEventService.postDeleted(id);
+           feedVersionService.changed();
            logger.info("게시글 삭제 완료: ID={}", id);
            return true;
        }
@@ -263,84 +520,78 @@ public class PostService {
        return false;
    }
    
-   // ID 문자열을 기반으로 사용자(일반 또는 소셜) 조회
-   public UserEntity findUserByStringId(String userId) {
-       logger.info("문자열 ID로 사용자 조회: {}", userId);
+   // 전체 게시글 내보내기 (NDJSON) - 전체 목록을 메모리에 만들지 않고 스트림으로 읽어 바로 출력
+   // afterPostId 가 있으면 그 다음 게시글부터 (중단된 내보내기 재개용 체크포인트)
+   @Transactional(readOnly = true)
+   public long exportPosts(Long afterPostId, OutputStream out) throws IOException {
+       long exported = 0;
+       List<PostEntity> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
        
-       // 소셜 ID 형식인지 확인 (숫자 형식이 아니거나 매우 긴 숫자)
-       if (userId.length() > 10 || !userId.matches("\\d+")) {
-           // socialId로 소셜 사용자 조회
-           String socialId = userId;
-           String provider = "unknown";
-           
-           // google_ 또는 kakao_ 접두사가 있으면 제거
-           if (userId.startsWith("google_")) {
-               socialId = userId.substring("google_".length());
-               provider = "google";
-           } else if (userId.startsWith("kakao_")) {
-               socialId = userId.substring("kakao_".length());
-               provider = "kakao";
-           }
-           
-           logger.info("소셜 ID로 사용자 조회: socialId={}, provider={}", socialId, provider);
-           
-           // 소셜 사용자 조회
-           Optional<SocialEntity> socialUser = socialRepository.findBySocialId(socialId);
-           if (socialUser.isPresent()) {
-               SocialEntity socialEntity = socialUser.get();
-               
-               // 해당 소셜 ID를 가진 기존 UserEntity가 있는지 찾기
-               // 예: social_[provider]_[socialId] 형식의 userId로 조회
-               String socialUserId = "social_" + provider + "_" + socialId;
-               Optional<UserEntity> existingUser = userRepository.findByUserId(socialUserId);
-               
-               if (existingUser.isPresent()) {
-                   logger.info("기존 UserEntity 찾음: ID={}, 닉네임={}", 
-                               existingUser.get().getId(), existingUser.get().getUserNickName());
-                   return existingUser.get();
-               } else {
-                   // 새 UserEntity 생성 및 저장
-                   UserEntity newUser = new UserEntity();
-                   newUser.setUserId(socialUserId);
-                   newUser.setUserName(socialEntity.getName());
-                   newUser.setUserNickName(socialEntity.getName());
-                   newUser.setUserCreatedAt(LocalDateTime.now().toString());
-                   
-                   // 비밀번호 필드가 필수라면 임의의 안전한 값 설정
-                   newUser.setUserPassword(UUID.randomUUID().toString());
-                   
-                   UserEntity savedUser = userRepository.save(newUser);
-                   logger.info("새 UserEntity 생성 및 저장: ID={}, 닉네임={}", 
-                               savedUser.getId(), savedUser.getUserNickName());
-                   return savedUser;
+       try (Stream<PostEntity> posts = postRepository.streamAfter(afterPostId == null ? 0L : afterPostId)) {
+           var iterator = posts.iterator();
+           while (iterator.hasNext()) {
+               chunk.add(iterator.next());
+               if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                   exported += writeChunk(chunk, out);
                }
-           } else {
-               logger.warn("소셜 ID로 사용자를 찾을 수 없음: {}", socialId);
-           }
-       } else {
-           try {
-               // 일반 사용자 ID로 조회 (기존 코드와 동일)
-               Long userIdLong = Long.parseLong(userId);
-               logger.info("일반 사용자 ID로 조회: {}", userIdLong);
-               
-               Optional<UserEntity> regularUser = userRepository.findById(userIdLong);
-               if (regularUser.isPresent()) {
-                   logger.info("일반 사용자 찾음: ID={}, 닉네임={}", regularUser.get().getId(), regularUser.get().getUserNickName());
-                   return regularUser.get();
-               } else {
-                   logger.warn("ID={}인 일반 사용자를 찾을 수 없음", userIdLong);
-               }
-           } catch (NumberFormatException e) {
-               // 숫자 변환 실패 시 예외 처리
-               logger.error("사용자 ID 숫자 변환 실패: {}", userId, e);
-               throw new IllegalArgumentException("유효하지 않은 사용자 ID 형식: " + e.getMessage());
            }
+           exported += writeChunk(chunk, out);
        }
-       
-       logger.error("사용자를 찾을 수 없음: ID={}", userId);
-       throw new IllegalArgumentException("User with ID " + userId + " not found");
+       logger.info("게시글 내보내기 완료: {}건 (after={})", exported, afterPostId);
+       return exported;
    }
-
+   
+   // 한 묶음을 한 줄에 하나씩 JSON 으로 쓰고 영속성 컨텍스트를 비워 메모리 사용량을 일정하게 유지
+   private int writeChunk(List<PostEntity> chunk, OutputStream out) throws IOException {
+       int written = chunk.size();
+       for (PostEntity entity : chunk) {
+           out.write(objectMapper.writeValueAsBytes(convertToDTO(entity)));
+           out.write('\n');
+       }
+       out.flush();
+       chunk.clear();
+       entityManager.clear();
+       return written;
+   }
+   
+   // 게시판 조회 ETag - 게시판 버전과 요청 파라미터로 생성 (DB 조회 없음, 버전을 모르면 null)
+   public String getFeedETag(String cursor, Integer size, boolean unpaged) {
+       String version = feedVersionService.current();
+       if (version == null) {
+           return null;
+       }
+       String source = "feed:" + version + ":" + cursor + "|" + size + "|" + unpaged;
+       return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+   }
+   
+   // 마이 게시판 ETag - 아직 기록되지 않은 좋아요가 있으면 버퍼 버전도 포함 (응답에 더해 보여주므로)
+   @Transactional(readOnly = true)
+   public String getMyPostsETag(String userId) {
+       Optional<Long> found = userIdentityResolver.findId(userId);
+       if (found.isEmpty()) {
+           return "\"my-empty\"";
+       }
+       Long id = found.get();
+       String pendingVersion = likeWriteBuffer.deltaVersion();
+       String params = pendingVersion != null ? id + "|" + pendingVersion : String.valueOf(id);
+       return toETag("my", postRepository.findFingerprintByUserId(id), params);
+   }
+   
+   // 게시글 상세 ETag - 게시글이 없으면 null (미기록 좋아요 증감 포함)
+   @Transactional(readOnly = true)
+   public String getPostETag(Long id) {
+       int delta = likeWriteBuffer.getDelta(id);
+       return postRepository.findRevisionByPostId(id)
+               .map(revision -> "\"post-" + id + "-" + revision + (delta != 0 ? "-l" + delta : "") + "\"")
+               .orElse(null);
+   }
+   
+   private String toETag(String scope, PostRepository.Fingerprint fingerprint, String params) {
+       String source = scope + ":" + fingerprint.getPostCount() + ":" + fingerprint.getMaxPostId()
+               + ":" + fingerprint.getRevisionSum() + ":" + params;
+       return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+   }
+   
    private PostDTO convertToDTO(PostEntity entity) {
        // UserEntity에서 정보 추출
        UserEntity user = entity.getUserEntity();
@@ -369,9 +620,11 @@ public class PostService {
                .postTitle(entity.getPostTitle())
                .postContent(entity.getPostContent())
                .userNickname(entity.getUserNickname())
-               .placeList(entity.getPlaceList())
-               .imageUrls(entity.getImageUrls())
-               .likes(likeRepository.countByPostEntity(entity))
+               .placeList(entity.getPlaceList() != null ? new ArrayList<>(entity.getPlaceList()) : null)
+               .imageUrls(entity.getImageUrls() != null ? new ArrayList<>(entity.getImageUrls()) : null)
+               .thumbnail(entity.getImageUrls() != null && !entity.getImageUrls().isEmpty()
+                       ? entity.getImageUrls().get(0) : null)
+               .likes(entity.getLikeCount())
                .postCreatedAt(entity.getPostCreatedAt())
                .authProvider(authProvider)  // 소셜 로그인 제공자
                .socialId(socialId)          // 소셜 ID
@@ -1,9 +1,12 @@
 package com.korea.travel.service;
 
 import java.time.Duration;
+import java.util.List;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -12,6 +15,52 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RedisUtil {
 
+    /*
+     * Lua 스크립트 - Redis 안에서 한 번에 실행되므로 여러 서버가 동시에 호출해도 원자적, 왕복 1회
+     * (클러스터에서는 한 스크립트의 키들이 같은 슬롯이어야 하므로 호출 쪽에서 {해시태그}를 붙인다)
+     */
+
+    // KEYS: 값, 쿨다운, 시도 횟수 / ARGV: 값, TTL(초), 쿨다운(초)
+    // 쿨다운 중이면 0, 아니면 값 저장 + 쿨다운 시작 + 시도 횟수 초기화 후 1
+    private static final RedisScript<Long> SET_WITH_COOLDOWN = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 0 end "
+            + "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+            + "if tonumber(ARGV[3]) > 0 then redis.call('SET', KEYS[2], '1', 'EX', ARGV[3]) end "
+            + "redis.call('DEL', KEYS[3]) "
+            + "return 1",
+            Long.class);
+
+    // KEYS: 값, 시도 횟수 / ARGV: 입력값, 최대 시도 수, 시도 횟수 TTL(초)
+    // 1 일치(값 삭제), 0 값 없음/만료, -1 시도 초과(값 삭제), -2 불일치
+    private static final RedisScript<Long> VERIFY_AND_CONSUME = new DefaultRedisScript<>(
+            "local stored = redis.call('GET', KEYS[1]) "
+            + "if not stored then return 0 end "
+            + "local attempts = redis.call('INCR', KEYS[2]) "
+            + "if attempts == 1 then redis.call('EXPIRE', KEYS[2], ARGV[3]) end "
+            + "if stored == ARGV[1] then redis.call('DEL', KEYS[1], KEYS[2]) return 1 end "
+            + "if attempts >= tonumber(ARGV[2]) then redis.call('DEL', KEYS[1]) return -1 end "
+            + "return -2",
+            Long.class);
+
+    // KEYS: 값, 세대 / ARGV: 값, TTL(초), 읽기 전에 확인한 세대
+    // 그 사이 세대가 바뀌지 않았을 때만 저장 (바뀌었으면 읽은 값이 이미 낡음) - 저장했으면 1
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[3] then return 0 end "
+            + "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+            + "return 1",
+            Long.class);
+
+    // KEYS: 값, 세대 / ARGV: 세대 TTL(초) - 값 삭제 + 세대 증가 (진행 중인 setDataIfGeneration 을 무효화)
+    private static final RedisScript<Long> DELETE_AND_BUMP_GENERATION = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) "
+            + "local generation = redis.call('INCR', KEYS[2]) "
+            + "redis.call('EXPIRE', KEYS[2], ARGV[1]) "
+            + "return generation",
+            Long.class);
+
+    // verifyAndConsume 결과
+    public enum VerifyResult { VERIFIED, MISMATCH, EXPIRED, TOO_MANY_ATTEMPTS }
+
     private final StringRedisTemplate redisTemplate;
 
     public String getData(String key) {
@@ -19,6 +68,12 @@ public class RedisUtil {
         return valueOperations.get(key);
     }
 
+    // 여러 키를 MGET 한 번으로 조회 (없는 키는 null)
+    public List<String> getDataList(List<String> keys) {
+        ValueOperations<String, String> valueOperations = redisTemplate.opsForValue();
+        return valueOperations.multiGet(keys);
+    }
+
     public boolean existData(String key) {
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
@@ -29,8 +84,58 @@ public class RedisUtil {
         valueOperations.set(key, value, expireDuration);
     }
 
+    // 키가 없을 때만 저장 (저장했으면 true)
+    public boolean setDataIfAbsent(String key, String value, long duration) {
+        ValueOperations<String, String> valueOperations = redisTemplate.opsForValue();
+        return Boolean.TRUE.equals(valueOperations.setIfAbsent(key, value, Duration.ofSeconds(duration)));
+    }
+
     public void deleteData(String key) {
         redisTemplate.delete(key);
     }
 
-}
\ No newline at end of file
+    public void deleteData(List<String> keys) {
+        redisTemplate.delete(keys);
+    }
+
+    // 쿨다운이 없을 때만 값 저장 + 쿨다운 시작 + 시도 횟수 초기화 (저장했으면 true)
+    public boolean setDataWithCooldown(String key, String value, long duration,
+            String cooldownKey, long cooldownSeconds, String attemptsKey) {
+        Long result = redisTemplate.execute(SET_WITH_COOLDOWN, List.of(key, cooldownKey, attemptsKey),
+                value, String.valueOf(duration), String.valueOf(cooldownSeconds));
+        return result != null && result == 1L;
+    }
+
+    // 값 확인 + 일치하면 삭제(재사용 불가), 시도 횟수를 세어 maxAttempts 에 도달하면 값 폐기
+    public VerifyResult verifyAndConsume(String key, String candidate,
+            String attemptsKey, int maxAttempts, long attemptsTtlSeconds) {
+        Long result = redisTemplate.execute(VERIFY_AND_CONSUME, List.of(key, attemptsKey),
+                candidate, String.valueOf(maxAttempts), String.valueOf(attemptsTtlSeconds));
+        if (result == null || result == 0L) {
+            return VerifyResult.EXPIRED;
+        }
+        if (result == 1L) {
+            return VerifyResult.VERIFIED;
+        }
+        return result == -1L ? VerifyResult.TOO_MANY_ATTEMPTS : VerifyResult.MISMATCH;
+    }
+
+    // 세대 키 값 (없으면 "0") - setDataIfGeneration 에 넘길 값을 원본을 읽기 전에 조회
+    public String getGeneration(String generationKey) {
+        String generation = getData(generationKey);
+        return generation != null ? generation : "0";
+    }
+
+    // 세대가 generation 그대로일 때만 값 저장 (저장했으면 true)
+    public boolean setDataIfGeneration(String key, String value, long duration, String generationKey, String generation) {
+        Long result = redisTemplate.execute(SET_IF_GENERATION, List.of(key, generationKey),
+                value, String.valueOf(duration), generation);
+        return result != null && result == 1L;
+    }
+
+    // 값 삭제 + 세대 증가 (세대 키는 generationTtl 초 유지)
+    public void deleteAndBumpGeneration(String key, String generationKey, long generationTtl) {
+        redisTemplate.execute(DELETE_AND_BUMP_GENERATION, List.of(key, generationKey), String.valueOf(generationTtl));
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.korea.travel.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.korea.travel.dto.TrendingPostDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 인기 게시글 (시간 감쇠 좋아요 점수)
+ * - LikeService 의 좋아요 추가/취소 이벤트로 게시글별 점수를 갱신 (반감기 기반 지수 감쇠)
+ *   트랜잭션 안에서 호출되면 커밋 이후에 반영 (롤백된 좋아요는 점수에 영향 없음)
+ * - 스케줄러가 주기적으로 감쇠를 반영하고 상위 K 개 스냅샷을 다시 만든다
+ * - 조회는 스냅샷만 읽으므로 O(K), DB 조회 없음
+ * - trending.redis-mirror=true 이면 상위 K 개를 Redis sorted set 에 미러링하고 시작 시 복원
+ *   (점수는 노드별 메모리에 있으므로 미러는 마지막으로 기록한 노드 하나의 상위 K 개)
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final String REDIS_KEY = "post:trending";
+
+    // 미러 교체용 임시 키 (노드별)
+    private final String redisTempKey = REDIS_KEY + ":tmp:" + UUID.randomUUID();
+
+    // 이 값보다 작아진 점수는 추적 대상에서 제외
+    private static final double MIN_SCORE = 0.01;
+
+    // 추적하는 게시글 수 상한 (초과 시 점수가 낮은 게시글부터 제외)
+    private static final int MAX_TRACKED = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    @Value("${trending.half-life-minutes:360}") // 점수 반감기 (분)
+    private long halfLifeMinutes;
+
+    @Value("${trending.top-k:50}") // 스냅샷에 유지할 상위 게시글 수
+    private int topK;
+
+    @Value("${trending.redis-mirror:false}") // Redis sorted set 미러링 여부
+    private boolean redisMirror;
+
+    // postId -> (기준 시각의 점수, 기준 시각)
+    private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+
+    // 상위 K 개 스냅샷 (읽기 전용, 스케줄러가 교체)
+    private volatile List<TrendingPostDTO> snapshot = List.of();
+
+    // 좋아요 추가
+    public void onLike(Long postId) {
+        afterCommit(() -> apply(postId, 1.0));
+    }
+
+    // 좋아요 취소
+    public void onUnlike(Long postId) {
+        afterCommit(() -> apply(postId, -1.0));
+    }
+
+    // 인기 게시글 상위 limit 개
+    public List<TrendingPostDTO> getTrending(Integer limit) {
+        List<TrendingPostDTO> current = snapshot;
+        int size = (limit == null || limit <= 0) ? current.size() : Math.min(limit, current.size());
+        return current.subList(0, size);
+    }
+
+    // 주기적으로 감쇠 반영 + 상위 K 개 스냅샷 재계산
+    @Scheduled(fixedDelayString = "${trending.decay-interval-ms:60000}")
+    public void recompute() {
+        long now = System.currentTimeMillis();
+        scores.replaceAll((postId, score) -> new Score(decay(score, now), now));
+        scores.values().removeIf(score -> score.value < MIN_SCORE);
+
+        List<Map.Entry<Long, Score>> ranked = scores.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<Long, Score> entry) -> entry.getValue().value).reversed())
+                .collect(Collectors.toList());
+
+        // 추적 대상 상한 유지 (그 사이 apply 로 바뀐 점수는 남김)
+        if (ranked.size() > MAX_TRACKED) {
+            ranked.subList(MAX_TRACKED, ranked.size())
+                    .forEach(entry -> scores.remove(entry.getKey(), entry.getValue()));
+        }
+
+        snapshot = ranked.stream()
+                .limit(topK)
+                .map(entry -> TrendingPostDTO.builder()
+                        .postId(entry.getKey())
+                        .score(entry.getValue().value)
+                        .build())
+                .collect(Collectors.toUnmodifiableList());
+
+        if (redisMirror) {
+            mirrorToRedis(snapshot);
+        }
+    }
+
+    // 시작 시 Redis 미러에서 점수 복원
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreFromRedis() {
+        if (!redisMirror) {
+            return;
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(REDIS_KEY, 0, topK - 1);
+            if (tuples == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            tuples.forEach(tuple -> scores.put(Long.valueOf(tuple.getValue()), new Score(tuple.getScore(), now)));
+            recompute();
+            logger.info("인기 게시글 점수 복원: {}개", tuples.size());
+        } catch (Exception e) {
+            logger.warn("인기 게시글 Redis 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 이후에, 아니면 바로 실행
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void apply(Long postId, double delta) {
+        long now = System.currentTimeMillis();
+        scores.compute(postId, (key, score) -> {
+            double value = (score == null ? 0.0 : decay(score, now)) + delta;
+            return value <= 0 ? null : new Score(value, now);
+        });
+    }
+
+    // 반감기 기반 지수 감쇠: value * 2^(-경과시간/반감기)
+    private double decay(Score score, long now) {
+        double halfLifeMillis = halfLifeMinutes * 60_000.0;
+        return score.value * Math.pow(0.5, (now - score.updatedAt) / halfLifeMillis);
+    }
+
+    private void mirrorToRedis(List<TrendingPostDTO> top) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = top.stream()
+                    .map(post -> (ZSetOperations.TypedTuple<String>) new DefaultTypedTuple<>(
+                            String.valueOf(post.getPostId()), post.getScore()))
+                    .collect(Collectors.toSet());
+            if (tuples.isEmpty()) {
+                redisTemplate.delete(REDIS_KEY);
+                return;
+            }
+            // 임시 키에 만든 뒤 RENAME 으로 한 번에 교체 (읽는 쪽이 빈 집합을 보지 않도록)
+            redisTemplate.delete(redisTempKey);
+            redisTemplate.opsForZSet().add(redisTempKey, tuples);
+            redisTemplate.rename(redisTempKey, REDIS_KEY);
+        } catch (Exception e) {
+            logger.warn("인기 게시글 Redis 미러링 실패: {}", e.getMessage());
+        }
+    }
+
+    private static class Score {
+        private final double value;
+        private final long updatedAt;
+
+        Score(double value, long updatedAt) {
+            this.value = value;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.korea.travel.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import lombok.Getter;
+
+/**
+ * /uploads/** 요청 경로 -> 디스크 파일 (캐시 정책과 ETag 포함)
+ * - 내용 주소 파일(blobs/..., {sha256}.{확장자} 와 파생 이미지)과 UUID 파일명은 내용이 바뀌지 않으므로 immutable
+ * - 그 외(이전 방식 프로필 사진 {id}_{파일명} 등 같은 이름으로 덮어쓰는 파일)는 매번 재검증
+ * - 업로드 루트 밖을 가리키는 경로(../ 등)는 찾지 못한 것으로 처리
+ */
+@Service
+public class UploadFileService {
+
+    // {uuid}_{원본 파일명}
+    private static final Pattern UUID_FILE_NAME = Pattern.compile(
+            "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+
+    // {sha256}.{확장자} 또는 {sha256}_{종류}.jpg
+    private static final Pattern BLOB_FILE_NAME = Pattern.compile("^([0-9a-f]{64})([._].+)$");
+
+    @Value("${file.upload-dir}") // 파일 저장 경로 설정
+    private String uploadDir;
+
+    public Optional<UploadFile> resolve(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return Optional.empty();
+        }
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path;
+        try {
+            path = root.resolve(relativePath).normalize();
+        } catch (InvalidPathException e) {
+            // 디코딩된 경로의 NUL 등 파일 시스템에서 쓸 수 없는 문자
+            return Optional.empty();
+        }
+        if (!path.startsWith(root)) {
+            return Optional.empty();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new UploadFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Getter
+    public static class UploadFile {
+        private final Path path;
+        private final long length;
+        private final long lastModified;
+        private final boolean immutable;
+        private final String etag;
+        private final MediaType mediaType;
+
+        UploadFile(Path path, long length, long lastModified) {
+            String fileName = path.getFileName().toString();
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+            Matcher blob = BLOB_FILE_NAME.matcher(fileName);
+            if (blob.matches()) {
+                // 내용 해시가 곧 강한 ETag (파생 이미지는 종류를 덧붙임)
+                this.immutable = true;
+                this.etag = "\"" + blob.group(1) + blob.group(2).replace('.', '-') + "\"";
+            } else {
+                this.immutable = UUID_FILE_NAME.matcher(fileName).matches();
+                this.etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.korea.travel.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.korea.travel.persistence.PostRepository;
+import com.korea.travel.persistence.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 업로드 디렉토리의 고아 파일 정리
+ * - post_images / users.userProfileImage 가 참조하는 URL 과 디스크의 파일을 비교
+ * - 참조되지 않고 마지막 수정이 유예 기간(uploads.gc.grace-hours)보다 오래된 파일만 삭제
+ *   (저장은 됐지만 아직 커밋되지 않은 게시글의 파일 보호)
+ * - 내용 주소 파일은 ImageStorageService 를 통해 image_blobs 행/파생 이미지와 함께 삭제
+ * - 초당 삭제 수 제한 (uploads.gc.max-deletes-per-second), 전용 스레드에서 실행 (스케줄러를 막지 않음)
+ * - 회수량: uploads.gc.reclaimed.bytes, uploads.gc.deleted.files
+ */
+@Service
+public class UploadSweeper {
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    // 파생 이미지 {sha256}_{확장자}_{종류}.jpg -> 원본 해시, 확장자
+    private static final Pattern DERIVATIVE = Pattern.compile("^([0-9a-f]{64})_([a-z0-9]+)_[a-z]+\\.jpg$");
+
+    // 원본 {sha256}.{확장자}
+    private static final Pattern BLOB = Pattern.compile("^([0-9a-f]{64})\\.[a-z0-9]+$");
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ImageStorageService imageStorageService;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "upload-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Logger logger = LoggerFactory.getLogger(UploadSweeper.class);
+
+    @Value("${file.upload-dir}") // 파일 저장 경로 설정
+    private String uploadDir;
+
+    @Value("${uploads.gc.enabled:true}") // 고아 파일 정리 사용 여부
+    private boolean enabled;
+
+    @Value("${uploads.gc.grace-hours:24}") // 이보다 최근에 수정된 파일은 삭제하지 않음 (시간)
+    private long graceHours;
+
+    @Value("${uploads.gc.max-deletes-per-second:20}") // 초당 최대 삭제 수 (디스크 I/O 보호)
+    private int maxDeletesPerSecond;
+
+    @Value("${uploads.gc.dry-run:false}") // true 이면 삭제하지 않고 로그만
+    private boolean dryRun;
+
+    public UploadSweeper(PostRepository postRepository, UserRepository userRepository,
+            ImageStorageService imageStorageService, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.imageStorageService = imageStorageService;
+        this.reclaimedBytes = meterRegistry.counter("uploads.gc.reclaimed.bytes");
+        this.deletedFiles = meterRegistry.counter("uploads.gc.deleted.files");
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // 주기 실행 - 이전 정리가 아직 돌고 있으면 건너뜀
+    @Scheduled(initialDelayString = "${uploads.gc.initial-delay-ms:600000}",
+            fixedDelayString = "${uploads.gc.interval-ms:21600000}")
+    public void schedule() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                sweep();
+            } catch (Exception e) {
+                logger.error("업로드 파일 정리 실패: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    // 한 번 정리 - 삭제한 바이트 수 반환
+    public long sweep() throws IOException {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+        LocalDateTime untouchedSince = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+
+        // 참조 목록은 파일 목록보다 먼저 읽는다 (이후에 생긴 파일은 유예 기간으로 보호)
+        Set<String> referenced = new HashSet<>(postRepository.findAllImageUrls());
+        referenced.addAll(userRepository.findAllProfileImages());
+        Set<String> referencedBlobs = new HashSet<>();
+        for (String url : referenced) {
+            String fileName = url.substring(url.lastIndexOf('/') + 1);
+            if (ImageStorageService.isBlobUrl(url) && BLOB.matcher(fileName).matches()) {
+                referencedBlobs.add(fileName);
+            }
+        }
+
+        long scanned = 0;
+        long deleted = 0;
+        long bytes = 0;
+        long minIntervalNanos = maxDeletesPerSecond > 0 ? 1_000_000_000L / maxDeletesPerSecond : 0;
+        long lastDeleteAt = 0;
+
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    continue; // 그 사이 삭제된 파일
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                scanned++;
+                if (attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                String fileName = path.getFileName().toString();
+                String url = URL_PREFIX + root.relativize(path).toString().replace('\\', '/');
+                if (referenced.contains(url)) {
+                    continue;
+                }
+                Matcher derivative = DERIVATIVE.matcher(fileName);
+                if (derivative.matches()
+                        && referencedBlobs.contains(derivative.group(1) + "." + derivative.group(2))) {
+                    continue;
+                }
+
+                // 삭제 속도 제한
+                long wait = minIntervalNanos - (System.nanoTime() - lastDeleteAt);
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                lastDeleteAt = System.nanoTime();
+
+                if (dryRun) {
+                    logger.info("[dry-run] 고아 파일: {} ({}bytes)", url, attributes.size());
+                    continue;
+                }
+                boolean removed;
+                if (ImageStorageService.isBlobUrl(url) && BLOB.matcher(fileName).matches()) {
+                    removed = imageStorageService.purgeOrphanBlob(path, untouchedSince);
+                } else {
+                    removed = Files.deleteIfExists(path);
+                }
+                if (removed) {
+                    deleted++;
+                    bytes += attributes.size();
+                    deletedFiles.increment();
+                    reclaimedBytes.increment(attributes.size());
+                }
+            }
+        }
+        logger.info("업로드 파일 정리 완료: 검사={}개, 삭제={}개, 회수={}bytes", scanned, deleted, bytes);
+        return bytes;
+    }
+}
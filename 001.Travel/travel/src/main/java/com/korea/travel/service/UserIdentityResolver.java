@@ -0,0 +1,273 @@
+package com.korea.travel.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.korea.travel.model.SocialEntity;
+import com.korea.travel.model.UserEntity;
+import com.korea.travel.persistence.SocialRepository;
+import com.korea.travel.persistence.UserRepository;
+
+/**
+ * 문자열 사용자 ID(일반 숫자 ID 또는 google_/kakao_ 소셜 ID) -> UserEntity 변환
+ * - PostService / UserService 공용
+ * - 변환 결과(users.id)를 크기 제한이 있는 LRU 캐시에 보관, 없는 ID 는 짧은 TTL 로 부정 캐시
+ * - ID 만 필요한 경로는 findId / findOrCreateId 사용 (캐시 적중 시 DB 조회 없음)
+ * - 소셜 사용자의 연결 UserEntity(social_{provider}_{socialId}) 생성은 findOrCreateId 에서만,
+ *   같은 ID 에 대해 동시에 요청이 와도 한 번만 INSERT
+ * - findOrCreateId 는 자체 트랜잭션으로 커밋하므로 바깥 트랜잭션 밖에서 호출할 것
+ *   (트랜잭션 안에서 부르면 커넥션을 두 개 잡게 됨)
+ */
+@Component
+public class UserIdentityResolver {
+
+    private static final String GOOGLE_PREFIX = "google_";
+    private static final String KAKAO_PREFIX = "kakao_";
+
+    // 소셜 ID 생성 직렬화용 락 (ID 해시로 분산)
+    private static final int LOCK_STRIPES = 64;
+
+    private final UserRepository userRepository;
+    private final SocialRepository socialRepository;
+    private final TransactionTemplate requiresNew;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Logger logger = LoggerFactory.getLogger(UserIdentityResolver.class);
+
+    @Value("${identity.cache.max-size:10000}") // 캐시 최대 항목 수
+    private int maxSize;
+
+    @Value("${identity.cache.ttl-seconds:300}") // 찾은 ID 캐시 유지 시간 (초)
+    private long ttlSeconds;
+
+    @Value("${identity.cache.negative-ttl-seconds:30}") // 없는 ID 캐시 유지 시간 (초)
+    private long negativeTtlSeconds;
+
+    // 문자열 ID -> 변환 결과 (접근 순서 LRU)
+    private final Map<String, CacheEntry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CacheEntry>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > maxSize;
+                }
+            });
+
+    public UserIdentityResolver(UserRepository userRepository, SocialRepository socialRepository,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.socialRepository = socialRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 조회 전용 (INSERT 없음)
+     * - 없는 ID 이면 IllegalArgumentException
+     * - 소셜 계정은 있지만 연결된 UserEntity 가 아직 없으면 Optional.empty()
+     */
+    public Optional<UserEntity> find(String userId) {
+        CacheEntry cached = getCached(userId);
+        if (cached != null) {
+            if (!cached.known) {
+                throw notFound(userId);
+            }
+            if (cached.id == null) {
+                return Optional.empty();
+            }
+            Optional<UserEntity> user = userRepository.findById(cached.id);
+            if (user.isPresent()) {
+                return user;
+            }
+            // 캐시 이후 삭제된 사용자 - 다시 조회
+            cache.remove(userId);
+        }
+        return lookup(userId);
+    }
+
+    /**
+     * 조회 전용, users.id 만 반환 (캐시 적중 시 DB 조회 없음)
+     * - 없는 ID 이면 IllegalArgumentException
+     * - 소셜 계정은 있지만 연결된 UserEntity 가 아직 없으면 Optional.empty()
+     */
+    public Optional<Long> findId(String userId) {
+        CacheEntry cached = getCached(userId);
+        if (cached != null) {
+            if (!cached.known) {
+                throw notFound(userId);
+            }
+            return Optional.ofNullable(cached.id);
+        }
+        return lookup(userId).map(UserEntity::getId);
+    }
+
+    /**
+     * 쓰기 경로용 - 소셜 사용자의 연결 UserEntity 가 없으면 생성하고 users.id 반환
+     * - 캐시 적중 시 DB 조회 없음 (회원 탈퇴 시 evict 로 제거)
+     * - 없는 ID 이면 IllegalArgumentException
+     */
+    public Long findOrCreateId(String userId) {
+        CacheEntry cached = getCached(userId);
+        if (cached != null && cached.id != null) {
+            return cached.id;
+        }
+
+        ParsedId parsed = parse(userId);
+        if (parsed.regularId != null) {
+            UserEntity user = userRepository.findById(parsed.regularId)
+                    .orElseThrow(() -> notFound(userId));
+            put(userId, new CacheEntry(user.getId(), true, ttlSeconds));
+            return user.getId();
+        }
+
+        // 부정 캐시는 무시하고 소셜 계정을 다시 확인 (방금 가입한 사용자일 수 있음)
+        SocialEntity social = socialRepository.findBySocialId(parsed.socialId)
+                .orElseThrow(() -> notFound(userId));
+
+        Long id;
+        synchronized (locks[Math.floorMod(parsed.linkedUserId.hashCode(), LOCK_STRIPES)]) {
+            // 별도 트랜잭션에서 커밋까지 끝내야 다음 요청이 생성된 행을 본다
+            id = requiresNew.execute(status -> userRepository.findByUserId(parsed.linkedUserId)
+                    .orElseGet(() -> createLinkedUser(parsed.linkedUserId, social))
+                    .getId());
+        }
+        put(userId, new CacheEntry(id, true, ttlSeconds));
+        return id;
+    }
+
+    // 캐시 무효화 (회원 탈퇴 등)
+    public void evict(String userId) {
+        cache.remove(userId);
+    }
+
+    // 캐시를 거치지 않고 조회한 뒤 결과(없는 ID 포함)를 캐시에 기록
+    private Optional<UserEntity> lookup(String userId) {
+        ParsedId parsed = parse(userId);
+        Optional<UserEntity> user;
+        if (parsed.regularId != null) {
+            user = userRepository.findById(parsed.regularId);
+        } else {
+            if (!socialRepository.existsBySocialId(parsed.socialId)) {
+                logger.warn("소셜 ID로 사용자를 찾을 수 없음: {}", parsed.socialId);
+                put(userId, new CacheEntry(null, false, negativeTtlSeconds));
+                throw notFound(userId);
+            }
+            user = userRepository.findByUserId(parsed.linkedUserId);
+            if (user.isEmpty()) {
+                // 연결 UserEntity 는 첫 글 작성 시 생성되므로 짧게만 캐시
+                put(userId, new CacheEntry(null, true, negativeTtlSeconds));
+                return Optional.empty();
+            }
+        }
+
+        if (user.isEmpty()) {
+            put(userId, new CacheEntry(null, false, negativeTtlSeconds));
+            throw notFound(userId);
+        }
+        put(userId, new CacheEntry(user.get().getId(), true, ttlSeconds));
+        return user;
+    }
+
+    private IllegalArgumentException notFound(String userId) {
+        return new IllegalArgumentException("User with ID " + userId + " not found");
+    }
+
+    private UserEntity createLinkedUser(String linkedUserId, SocialEntity social) {
+        UserEntity newUser = new UserEntity();
+        newUser.setUserId(linkedUserId);
+        newUser.setUserName(social.getName());
+        newUser.setUserNickName(social.getName());
+        newUser.setUserCreatedAt(LocalDateTime.now().toString());
+        // 비밀번호 필드가 필수라면 임의의 안전한 값 설정
+        newUser.setUserPassword(UUID.randomUUID().toString());
+
+        UserEntity savedUser = userRepository.save(newUser);
+        logger.info("소셜 사용자 연결 UserEntity 생성: ID={}, userId={}", savedUser.getId(), linkedUserId);
+        return savedUser;
+    }
+
+    private CacheEntry getCached(String userId) {
+        CacheEntry entry = cache.get(userId);
+        if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+            cache.remove(userId);
+            return null;
+        }
+        return entry;
+    }
+
+    private void put(String userId, CacheEntry entry) {
+        cache.put(userId, entry);
+    }
+
+    // 10자리 이하 숫자면 일반 사용자 ID, 그 외는 소셜 ID (정규식 없이 판별)
+    static ParsedId parse(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("유효하지 않은 사용자 ID 형식: " + userId);
+        }
+
+        if (userId.length() <= 10 && isDigits(userId)) {
+            return new ParsedId(Long.parseLong(userId), null, null);
+        }
+
+        String socialId = userId;
+        String provider = "unknown";
+        if (userId.startsWith(GOOGLE_PREFIX)) {
+            socialId = userId.substring(GOOGLE_PREFIX.length());
+            provider = "google";
+        } else if (userId.startsWith(KAKAO_PREFIX)) {
+            socialId = userId.substring(KAKAO_PREFIX.length());
+            provider = "kakao";
+        }
+        return new ParsedId(null, socialId, "social_" + provider + "_" + socialId);
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 파싱 결과 - 일반 사용자면 regularId, 소셜이면 socialId 와 연결 UserEntity 의 userId
+    static class ParsedId {
+        final Long regularId;
+        final String socialId;
+        final String linkedUserId;
+
+        ParsedId(Long regularId, String socialId, String linkedUserId) {
+            this.regularId = regularId;
+            this.socialId = socialId;
+            this.linkedUserId = linkedUserId;
+        }
+    }
+
+    // 캐시 항목 - known=false 는 없는 ID, id=null 은 연결 UserEntity 가 아직 없는 소셜 계정
+    private static class CacheEntry {
+        final Long id;
+        final boolean known;
+        final long expiresAt;
+
+        CacheEntry(Long id, boolean known, long ttlSeconds) {
+            this.id = id;
+            this.known = known;
+            this.expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        }
+    }
+}
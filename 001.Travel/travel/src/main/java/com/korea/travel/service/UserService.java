@@ -1,13 +1,12 @@
 package com.korea.travel.service;
 
-import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,11 +16,10 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.korea.travel.dto.UserDTO;
-import com.korea.travel.model.SocialEntity;
 import com.korea.travel.model.UserEntity;
-import com.korea.travel.persistence.SocialRepository;
 import com.korea.travel.persistence.UserRepository;
 import com.korea.travel.security.TokenProvider;
+import com.korea.travel.service.ImageDerivativeService.Variant;
 
 import io.jsonwebtoken.io.IOException;
 import lombok.RequiredArgsConstructor;
@@ -38,8 +36,11 @@ public class UserService {
 	
 	private final TokenProvider tokenProvider;
 	
-	@Autowired(required = false)
-	private SocialRepository socialRepository;
+	private final UserIdentityResolver userIdentityResolver;
+	
+	private final ImageStorageService imageStorageService;
+	
+	private final ImageDerivativeService imageDerivativeService;
 	
 	
 	
@@ -150,6 +151,8 @@ public class UserService {
 				.userNickName(user.getUserNickName())
 				.userPassword(user.getUserPassword())
 				.userProfileImage(user.getUserProfileImage())
+				.userProfileThumbnail(getProfileThumbnail(user.getUserProfileImage()))
+				.userProfileMedium(getProfileMedium(user.getUserProfileImage()))
 				.token(token)
 				.build();
 		}else {
@@ -249,55 +252,38 @@ public class UserService {
             UserEntity userEntity = repository.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException("User not found"));
             
-            //기존 프로필 사진 삭제 처리
-            String existingUserProfileImage = userEntity.getUserProfileImage();
-            //기존 프로필 파일이 없거나 null이면 true
-            if (existingUserProfileImage != null && !existingUserProfileImage.isEmpty()) {
-            	//저장된 file 경로로 수정
-                String existingFilePath = "/home/ubuntu/app"+existingUserProfileImage;
-                File existingFile = new File(existingFilePath);	//객체 생성
-                if (existingFile.exists()) {	//해당 파일이있으면 true
-                    if (existingFile.delete()) {
-                        System.out.println("기존 프로필이미지가 삭제되었습니다: " + existingFilePath);
-                    } else {
-                        System.err.println("기존 프로필이미지 삭제 실패: " + existingFilePath);
-                    }
-                }
-            }
-            
-            //파일경로 지정
-            String uploadDir = "/home/ubuntu/app/uploads/profilePictures/";
-            String fileName = file.getOriginalFilename().replaceAll("[\\s\\(\\)]", "_");
-            //filePath - file 저장할 경로
-            String filePath = uploadDir + id + "_" + fileName;
-            
-            File dest = new File(filePath);			//파일객체 생성
-            File parentDir = dest.getParentFile();	//부모 디렉토리 경로 추출
-            if (!parentDir.exists()) {	//부모 디렉토리가 없으면 true
-            	parentDir.mkdirs();		// 디렉토리 생성
-            }
+            //새 프로필 사진 저장 (내용 주소 저장소 - 같은 사진이면 기존 파일 재사용)
+            String fileUrl = imageStorageService.storeAll(List.of(file)).get(0);
             
+            //기존 프로필 사진 경로
+            String existingUserProfileImage = userEntity.getUserProfileImage();
             
+            //UserEntity에 프로필 사진 경로 업데이트
+            userEntity.setUserProfileImage(fileUrl);
             try {
-                file.transferTo(dest);	//파일 저장
-                System.out.println("파일저장완료");
-            } catch (IOException e) {
-                System.err.println("파일 저장 실패: " + e.getMessage());
-                e.printStackTrace();  // 스택 트레이스 출력
-                throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
+                repository.save(userEntity);  // UserEntity 업데이트 저장
+            } catch (RuntimeException e) {
+                imageStorageService.releaseAll(List.of(fileUrl));
+                throw e;
             }
             
-            //filePath는 파일저장 경로지 불러올때는 fileUrl로 불러와야한다.
-            //fileUrl - file 불러올 경로 db 에 저장
-            String fileUrl = "/uploads/profilePictures/" + id + "_" + fileName;
-            
-            //UserEntity에 프로필 사진 경로 업데이트
-            userEntity.setUserProfileImage(fileUrl);
-            repository.save(userEntity);  // UserEntity 업데이트 저장
+            //기존 프로필 사진 삭제 처리
+            //기존 프로필 파일이 없거나 null이면 true
+            if (existingUserProfileImage != null && !existingUserProfileImage.isEmpty()) {
+                if (ImageStorageService.isBlobUrl(existingUserProfileImage)) {
+                    //저장소 파일은 참조 해제 (다른 곳에서 쓰지 않으면 삭제)
+                    imageStorageService.releaseAll(List.of(existingUserProfileImage));
+                } else {
+                	//이전 방식 파일 삭제 (업로드 루트 기준 경로)
+                    imageStorageService.deleteLegacyFile(existingUserProfileImage);
+                }
+            }
             
             //업데이트된 UserEntity를 UserDTO로 변환하여 반환
             return UserDTO.builder().
             		userProfileImage(userEntity.getUserProfileImage())
+            		.userProfileThumbnail(getProfileThumbnail(userEntity.getUserProfileImage()))
+            		.userProfileMedium(getProfileMedium(userEntity.getUserProfileImage()))
             		.build();
             
         } catch (IOException e) {
@@ -310,6 +296,22 @@ public class UserService {
     }
 
     
+    //프로필사진 썸네일 URL (파생 이미지가 아직 없거나 이전 방식 경로면 null)
+    public String getProfileThumbnail(String userProfileImage) {
+    	if (userProfileImage == null) {
+    		return null;
+    	}
+    	return imageDerivativeService.derivativeUrlIfReady(userProfileImage, Variant.THUMB);
+    }
+    
+    //프로필사진 중간 크기(1024px) URL (파생 이미지가 아직 없거나 이전 방식 경로면 null)
+    public String getProfileMedium(String userProfileImage) {
+    	if (userProfileImage == null) {
+    		return null;
+    	}
+    	return imageDerivativeService.derivativeUrlIfReady(userProfileImage, Variant.MEDIUM);
+    }
+    
     //프로필사진 삭제
     public boolean userProfileImageDelete (Long id) {
     	
@@ -320,15 +322,12 @@ public class UserService {
         String existingUserProfileImage = userEntity.getUserProfileImage();
         //기존 프로필 파일이 없거나 null이면 true
         if (existingUserProfileImage != null && !existingUserProfileImage.isEmpty()) {
-        	//저장된 file 경로로 수정
-        	String existingFilePath = System.getProperty("user.dir")+existingUserProfileImage;
-            File existingFile = new File(existingFilePath);	//객체 생성
-            if (existingFile.exists()) {	//해당 파일이있으면 true
-                if (existingFile.delete()) {
-                    System.out.println("기존 프로필이미지가 삭제되었습니다: " + existingFilePath);
-                } else {
-                    System.err.println("기존 프로필이미지 삭제 실패: " + existingFilePath);
-                }
+            if (ImageStorageService.isBlobUrl(existingUserProfileImage)) {
+                //저장소 파일은 참조 해제 (다른 곳에서 쓰지 않으면 삭제)
+                imageStorageService.releaseAfterCommit(List.of(existingUserProfileImage));
+            } else {
+            	//이전 방식 파일 삭제 (업로드 루트 기준 경로)
+                imageStorageService.deleteLegacyFile(existingUserProfileImage);
             }
             userEntity.setUserProfileImage(null);
             repository.save(userEntity);
@@ -370,6 +369,12 @@ public class UserService {
     	if(user.isPresent() && passwordEncoder.matches(dto.getUserPassword(),user.get().getUserPassword())) {
 			UserEntity entity = user.get();
     		repository.delete(entity);
+    		// 프로필 사진 참조 해제
+    		if (entity.getUserProfileImage() != null) {
+    			imageStorageService.releaseAfterCommit(List.of(entity.getUserProfileImage()));
+    		}
+    		// 문자열 ID 조회 캐시에서도 제거
+    		userIdentityResolver.evict(String.valueOf(id));
     		return true;    		
     	}else {
 			return false;
@@ -379,60 +384,19 @@ public class UserService {
     
     /**
      * 문자열 ID로 사용자 조회 (일반 또는 소셜)
-     * 게시글 서비스와 연동하기 위한 메서드
+     * 게시글 서비스와 연동하기 위한 메서드 - UserIdentityResolver 캐시 사용, 사용자를 생성하지 않음
      */
     @Transactional(readOnly = true)
     public UserEntity findUserByStringId(String userId) {
         log.info("문자열 ID로 사용자 조회: {}", userId);
-        
-        // 소셜 ID 형식인지 확인 (숫자 형식이 아니거나 매우 긴 숫자)
-        if (userId.length() > 10 || !userId.matches("\\d+")) {
-            // socialId로 소셜 사용자 조회
-            String socialId = userId;
-            // google_ 또는 kakao_ 접두사가 있으면 제거
-            if (userId.startsWith("google_")) {
-                socialId = userId.substring("google_".length());
-            } else if (userId.startsWith("kakao_")) {
-                socialId = userId.substring("kakao_".length());
-            }
-            
-            log.info("소셜 ID로 사용자 조회: {}", socialId);
-            
-            if (socialRepository != null) {
-                // 소셜 사용자 조회
-                Optional<SocialEntity> socialUser = socialRepository.findBySocialId(socialId);
-                if (socialUser.isPresent()) {
-                    // SocialEntity를 UserEntity로 변환 또는 임시 UserEntity 생성
-                    UserEntity tempUser = new UserEntity();
-                    tempUser.setId(1L); // 임시 ID (실제 환경에서는 더 나은 방법 필요)
-                    tempUser.setUserNickName(socialUser.get().getName());
-                    log.info("소셜 사용자 찾음: {}", socialUser.get().getName());
-                    return tempUser;
-                }
-            } else {
-                log.warn("SocialRepository가 주입되지 않았습니다. 소셜 사용자 조회 건너뜁니다.");
-            }
-            
-            // 소셜 ID를 찾을 수 없지만 기본 사용자 제공 (실제 환경에서는 적절히 처리)
-            UserEntity defaultUser = new UserEntity();
-            defaultUser.setId(1L);
-            defaultUser.setUserNickName("Guest");
-            log.info("소셜 사용자를 찾을 수 없어 기본 사용자 반환");
-            return defaultUser;
-        } else {
-            try {
-                // 일반 사용자 ID로 조회
-                Long userIdLong = Long.parseLong(userId);
-                Optional<UserEntity> regularUser = repository.findById(userIdLong);
-                if (regularUser.isPresent()) {
-                    log.info("일반 사용자 찾음: {}", regularUser.get().getUserNickName());
-                    return regularUser.get();
-                }
-            } catch (NumberFormatException e) {
-                // 숫자 변환 실패 시 예외 처리
-                log.error("사용자 ID 숫자 변환 실패: {}", userId, e);
-                throw new IllegalArgumentException("유효하지 않은 사용자 ID 형식");
+        try {
+            Optional<UserEntity> user = userIdentityResolver.find(userId);
+            if (user.isPresent()) {
+                log.info("사용자 찾음: {}", user.get().getUserNickName());
+                return user.get();
             }
+        } catch (IllegalArgumentException e) {
+            log.warn("사용자 조회 실패: {}", e.getMessage());
         }
         
         // 기본 사용자 반환 (실제 환경에서는 적절히 처리)
@@ -0,0 +1,15 @@
+-- 파생 이미지 파일 이름에 원본 확장자 추가 ({sha256}_thumb.jpg -> {sha256}_{확장자}_thumb.jpg) (MySQL 8)
+--
+-- 이 버전을 배포할 때 한 번만 수동으로 실행
+-- - 기존 파생 이미지는 이전 이름이라 새 버전에서 찾을 수 없으므로 준비 여부를 되돌려 원본 URL 을 쓰게 함
+--   (이전 이름의 파일은 더 이상 참조되지 않으므로 업로드 파일 정리에서 회수됨)
+-- - 이 이미지를 쓰는 게시글의 리비전을 올려 ETag 가 이전 파생 이미지 URL 에 머물지 않게 함
+--   (Redis 게시글 캐시는 post.cache.ttl-seconds 이후 갱신)
+-- - 기존 이미지의 파생 이미지는 다시 만들지 않음 - 새로 업로드된 이미지부터 적용
+
+-- 1. 준비 여부 초기화
+UPDATE image_blobs SET derivatives_ready = FALSE WHERE derivatives_ready = TRUE;
+
+-- 2. 내용 주소 이미지를 쓰는 게시글 리비전 증가
+UPDATE posts p SET p.revision = p.revision + 1
+WHERE EXISTS (SELECT 1 FROM post_images i WHERE i.post_id = p.post_id AND i.image_urls LIKE '/uploads/blobs/%');
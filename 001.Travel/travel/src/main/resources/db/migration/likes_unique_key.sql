@@ -0,0 +1,23 @@
+-- 좋아요 중복 방지 유니크 키 / 사용자별 조회 인덱스 추가와 posts.like_count 초기값 계산 (MySQL 8)
+--
+-- 이 버전을 처음 배포한 뒤 한 번만 수동으로 실행 (애플리케이션 시작 시에는 실행하지 않음)
+-- - like_count 컬럼은 ddl-auto 가 추가하므로 첫 시작 이후에 실행
+-- - 기존 데이터에 중복 좋아요가 있으면 ddl-auto 의 유니크 키 추가가 실패하므로 1 -> 2 순서로 정리 후 추가
+--   (중복이 없어 ddl-auto 가 이미 추가했다면 2 는 Duplicate key name 오류 - 건너뛰면 됨)
+-- - 3 은 실행하는 순간의 likes 기준으로 다시 계산 - 트래픽이 적은 시간에 실행
+
+-- 1. 중복 좋아요 정리 (가장 먼저 눌린 행만 남김)
+DELETE l1 FROM likes l1
+JOIN likes l2 ON l1.post_id = l2.post_id
+    AND l1.user_id = l2.user_id
+    AND l1.user_type = l2.user_type
+    AND l1.id > l2.id;
+
+-- 2. (게시글, 사용자, 타입) 유니크 키 + 사용자별 좋아요 조회 인덱스 (LikeEntity 와 같은 이름)
+ALTER TABLE likes
+    ADD CONSTRAINT uk_likes_post_user UNIQUE (post_id, user_id, user_type),
+    ADD INDEX idx_likes_user_post (user_id, user_type, post_id);
+
+-- 3. likes 테이블 기준으로 좋아요 수 계산
+UPDATE posts p
+SET p.like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.post_id);
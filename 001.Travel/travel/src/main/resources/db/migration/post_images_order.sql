@@ -0,0 +1,33 @@
+-- post_images 에 이미지 순서 컬럼(image_order) 추가 (MySQL 8)
+--
+-- 이 버전을 배포하기 전에 한 번만 수동으로 실행
+-- - ddl-auto 가 image_order 를 NULL 로 추가하면 기존 게시글을 읽을 때 오류가 나므로 미리 채워 둠
+-- - 기존 행에는 순서 정보가 없음 - 기본 키 없는 InnoDB 테이블은 숨은 행 ID(삽입 순서) 순으로 저장되므로
+--   먼저 AUTO_INCREMENT 컬럼(seq)을 추가해 그 순서를 실제 값으로 고정한 뒤 seq 순으로 0부터 번호를 매김
+--   (게시글 수정 시 이미지 목록 전체를 다시 넣어 왔으므로 목록 순서와 같음)
+-- - 테이블을 새로 만들어 바꾸므로 실행 중에는 게시글 작성/수정을 멈출 것
+
+-- 1. 기존 행 순서를 seq 로 고정 (테이블 재작성 시 클러스터 인덱스 = 숨은 행 ID 순으로 번호 부여)
+ALTER TABLE post_images
+    ADD COLUMN seq BIGINT NOT NULL AUTO_INCREMENT,
+    ADD UNIQUE KEY uk_post_images_seq (seq),
+    ALGORITHM = COPY;
+
+-- 2. 순서를 매긴 새 테이블
+CREATE TABLE post_images_ordered (
+    post_id BIGINT NOT NULL,
+    image_urls VARCHAR(255),
+    image_order INT NOT NULL,
+    PRIMARY KEY (post_id, image_order),
+    INDEX idx_post_images_url (image_urls),
+    CONSTRAINT fk_post_images_post FOREIGN KEY (post_id) REFERENCES posts (post_id)
+);
+
+INSERT INTO post_images_ordered (post_id, image_urls, image_order)
+SELECT post_id, image_urls, ROW_NUMBER() OVER (PARTITION BY post_id ORDER BY seq) - 1
+FROM post_images;
+
+-- 3. 교체 후 이전 테이블 삭제
+-- - 이전 테이블은 posts 로의 외래 키를 그대로 갖고 있어 남겨 두면 기존 게시글 삭제가 실패함 (1451)
+RENAME TABLE post_images TO post_images_unordered, post_images_ordered TO post_images;
+DROP TABLE post_images_unordered;
@@ -0,0 +1,61 @@
+package com.korea.travel.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.korea.travel.service.UploadFileService;
+
+// /uploads/** 경로 디코딩 - 한글 파일명은 찾고, 업로드 디렉토리 밖(../)은 404
+class UploadControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private UploadController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path uploadDir = Files.createDirectory(tempDir.resolve("uploads"));
+        Files.write(uploadDir.resolve("7_한글 사진.jpg"), new byte[] {1, 2, 3});
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        UploadFileService uploadFileService = new UploadFileService();
+        ReflectionTestUtils.setField(uploadFileService, "uploadDir", uploadDir.toString());
+        controller = new UploadController(uploadFileService);
+        ReflectionTestUtils.setField(controller, "maxAgeDays", 365L);
+    }
+
+    @Test
+    void servesNonAsciiFileNameFromEncodedUri() throws Exception {
+        MockHttpServletResponse response = serve("/uploads/7_%ED%95%9C%EA%B8%80%20%EC%82%AC%EC%A7%84.jpg");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void rejectsPathsOutsideUploadDir() throws Exception {
+        assertThat(serve("/uploads/../secret.txt").getStatus()).isEqualTo(404);
+        assertThat(serve("/uploads/%2e%2e/secret.txt").getStatus()).isEqualTo(404);
+        assertThat(serve("/uploads/%2E%2E%2Fsecret.txt").getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse serve(String requestUri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+        request.setCharacterEncoding(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        controller.serve(request, response);
+        return response;
+    }
+}
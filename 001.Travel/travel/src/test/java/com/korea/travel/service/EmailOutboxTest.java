@@ -0,0 +1,83 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+// 메일 outbox - 프로세스 내 SMTP 서버(GreenMail)로 발송/재시도 확인
+class EmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+
+        outbox = new EmailOutbox(mailSender, meterRegistry);
+        ReflectionTestUtils.setField(outbox, "capacity", 100);
+        ReflectionTestUtils.setField(outbox, "workers", 2);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 10);
+        ReflectionTestUtils.setField(outbox, "backoffMs", 50L);
+        ReflectionTestUtils.setField(outbox, "maxBackoffMs", 200L);
+        ReflectionTestUtils.setField(outbox, "idleCloseMs", 1000L);
+        outbox.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outbox.stop();
+    }
+
+    @Test
+    void deliversQueuedMessagesInBackground() throws MessagingException {
+        for (int i = 0; i < 5; i++) {
+            assertThat(outbox.enqueue(message("user" + i + "@test.com"))).isTrue();
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 5)).isTrue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(outbox.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void retriesWithBackoffUntilSmtpServerIsBack() throws Exception {
+        greenMail.stop();
+        assertThat(outbox.enqueue(message("retry@test.com"))).isTrue();
+        Thread.sleep(150);
+        greenMail.start();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(meterRegistry.counter("mail.outbox.retries").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom("noreply@test.com");
+        message.setRecipients(MimeMessage.RecipientType.TO, to);
+        message.setSubject("인증코드입니다.");
+        message.setText("<h2>[123456]</h2>", "utf-8", "html");
+        return message;
+    }
+}
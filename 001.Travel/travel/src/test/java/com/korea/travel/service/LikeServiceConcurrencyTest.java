@@ -0,0 +1,190 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.korea.travel.model.PostEntity;
+import com.korea.travel.model.UserEntity;
+import com.korea.travel.persistence.LikeRepository;
+import com.korea.travel.persistence.PostRepository;
+import com.korea.travel.persistence.UserRepository;
+
+// 좋아요 추가/삭제의 멱등성 - 같은 게시글을 여러 스레드가 동시에 눌러도 한 건 (실제 MySQL, Docker 없으면 건너뜀)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(LikeService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 각 요청이 실제로 커밋되도록
+class LikeServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @MockBean
+    private PostCacheService postCacheService;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    private PostEventService postEventService;
+
+    @MockBean
+    private FeedVersionService feedVersionService;
+
+    // write-behind / 사용자별 좋아요 캐시 꺼짐 (isEnabled() == false) - DB 경로만 확인
+    @MockBean
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @MockBean
+    private LikedPostCache likedPostCache;
+
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .userId("liker")
+                .userNickName("liker")
+                .build());
+        postId = postRepository.save(PostEntity.builder()
+                .postTitle("title")
+                .postContent("content")
+                .userNickname("liker")
+                .userEntity(user)
+                .build()).getPostId();
+    }
+
+    @Test
+    void concurrentLikesBySameUserInsertOneRow() throws Exception {
+        for (Future<Object> future : runConcurrently(() -> likeService.addLike(7L, "REGULAR", postId))) {
+            future.get(); // 중복 좋아요도 오류 없이 성공
+        }
+
+        assertThat(likeRepository.count()).isEqualTo(1);
+        assertThat(likeService.getLikeCount(postId)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentLikesByDifferentUsersAreAllCounted() throws Exception {
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (long userId = 1; userId <= THREADS; userId++) {
+            long liker = userId;
+            calls.add(() -> likeService.addLike(liker, "REGULAR", postId));
+        }
+        for (Future<Object> future : invokeAll(calls)) {
+            future.get();
+        }
+
+        assertThat(likeRepository.count()).isEqualTo(THREADS);
+        assertThat(likeService.getLikeCount(postId)).isEqualTo(THREADS);
+    }
+
+    @Test
+    void removeIsIdempotentAndKeepsCountConsistent() throws Exception {
+        likeService.addLike(7L, "SOCIAL", postId);
+
+        for (Future<Object> future : runConcurrently(() -> likeService.removeLike(7L, "SOCIAL", postId))) {
+            future.get(); // 이미 지워진 좋아요를 다시 지워도 성공
+        }
+
+        assertThat(likeRepository.count()).isZero();
+        assertThat(likeService.getLikeCount(postId)).isZero();
+    }
+
+    @Test
+    void repeatedLikeDoesNotInflateCount() {
+        for (int i = 0; i < 3; i++) {
+            likeService.addLike(7L, "REGULAR", postId);
+        }
+
+        assertThat(likeRepository.count()).isEqualTo(1);
+        assertThat(likeService.getLikeCount(postId)).isEqualTo(1);
+    }
+
+    @Test
+    void bulkLookupReturnsLikedSubsetInRequestOrder() {
+        Long other = postRepository.save(PostEntity.builder()
+                .postTitle("other")
+                .postContent("content")
+                .userNickname("liker")
+                .userEntity(userRepository.findAll().get(0))
+                .build()).getPostId();
+        likeService.addLike(7L, "REGULAR", other);
+        likeService.addLike(7L, "REGULAR", postId);
+        likeService.addLike(8L, "REGULAR", postId);
+
+        assertThat(likeService.getLikedPostIds(7L, "REGULAR", List.of(other, postId + 1000, postId, other)))
+                .containsExactly(other, postId);
+        assertThat(likeService.getLikedPostIds(7L, "SOCIAL", List.of(other, postId))).isEmpty();
+    }
+
+    @Test
+    void likeOnMissingPostFails() {
+        assertThatThrownBy(() -> likeService.addLike(7L, "REGULAR", postId + 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Future<Object>> runConcurrently(Callable<Object> call) throws Exception {
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            calls.add(call);
+        }
+        return invokeAll(calls);
+    }
+
+    private List<Future<Object>> invokeAll(List<Callable<Object>> calls) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            return pool.invokeAll(calls);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
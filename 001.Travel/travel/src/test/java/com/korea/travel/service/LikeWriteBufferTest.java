@@ -0,0 +1,109 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.korea.travel.model.LikeEntity.UserType;
+import com.korea.travel.persistence.LikeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 좋아요 write-behind 버퍼 - 버퍼 상태/증감과 기록 대상 (DB 는 mock)
+class LikeWriteBufferTest {
+
+    private LikeRepository likeRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private LikeWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        buffer = new LikeWriteBuffer(likeRepository, jdbcTemplate, mock(PostCacheService.class),
+                mock(PostEventService.class), mock(FeedVersionService.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "batchSize", 100);
+    }
+
+    @Test
+    void likeIsVisibleBeforeFlushAndDuplicateIsIgnored() {
+        assertThat(buffer.apply(1L, 10L, UserType.REGULAR, true)).isTrue();
+        assertThat(buffer.apply(1L, 10L, UserType.REGULAR, true)).isFalse();
+
+        assertThat(buffer.isLiked(1L, 10L, UserType.REGULAR)).contains(true);
+        assertThat(buffer.getDelta(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void likeThenUnlikeCancelsOutWithoutWrites() {
+        buffer.apply(1L, 10L, UserType.REGULAR, true);
+        buffer.apply(1L, 10L, UserType.REGULAR, false);
+
+        assertThat(buffer.getDelta(1L)).isZero();
+        assertThat(buffer.flush()).isZero();
+        verify(jdbcTemplate, never()).update(any(String.class), any(Object[].class));
+    }
+
+    @Test
+    void flushWritesNetChangesAndClearsDelta() {
+        when(likeRepository.existsByUserIdAndUserTypeAndPostEntity_PostId(eq(20L), any(), anyLong())).thenReturn(true);
+        buffer.apply(1L, 10L, UserType.REGULAR, true);
+        buffer.apply(1L, 20L, UserType.SOCIAL, false);
+
+        assertThat(buffer.flush()).isEqualTo(2);
+
+        verify(jdbcTemplate).update(startsWith("INSERT IGNORE INTO likes"), eq(1L), eq(10L), eq("REGULAR"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM likes"), eq(1L), eq(20L), eq("SOCIAL"));
+        assertThat(buffer.getDelta(1L)).isZero();
+        assertThat(buffer.isLiked(1L, 10L, UserType.REGULAR)).isEmpty();
+    }
+
+    @Test
+    void relikeDuringFlushKeepsTheLike() {
+        buffer.apply(1L, 10L, UserType.REGULAR, true);
+        // 기록 트랜잭션 도중 취소 후 다시 좋아요 - DB 를 다시 읽지 않아야 함 (읽으면 이미 기록된 true)
+        when(likeRepository.existsByUserIdAndUserTypeAndPostEntity_PostId(10L, UserType.REGULAR, 1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            assertThat(buffer.apply(1L, 10L, UserType.REGULAR, false)).isTrue();
+            assertThat(buffer.apply(1L, 10L, UserType.REGULAR, true)).isTrue();
+            return 1;
+        }).when(jdbcTemplate).update(startsWith("UPDATE posts"), any(Object[].class));
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        assertThat(buffer.isLiked(1L, 10L, UserType.REGULAR)).isEmpty();
+        assertThat(buffer.getDelta(1L)).isZero();
+        assertThat(buffer.flush()).isZero();
+    }
+
+    @Test
+    void unlikeDuringFlushIsWrittenNext() {
+        buffer.apply(1L, 10L, UserType.REGULAR, true);
+        doAnswer(invocation -> {
+            assertThat(buffer.apply(1L, 10L, UserType.REGULAR, false)).isTrue();
+            return 1;
+        }).when(jdbcTemplate).update(startsWith("UPDATE posts"), any(Object[].class));
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        assertThat(buffer.isLiked(1L, 10L, UserType.REGULAR)).contains(false);
+        assertThat(buffer.getDelta(1L)).isEqualTo(-1);
+    }
+}
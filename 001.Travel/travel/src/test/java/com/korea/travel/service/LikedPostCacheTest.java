@@ -0,0 +1,114 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.korea.travel.model.LikeEntity.UserType;
+import com.korea.travel.persistence.LikeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 사용자별 좋아요 비트맵 캐시 - 지연 로딩 1회, 변경 반영, LRU 제한 (DB 는 mock)
+class LikedPostCacheTest {
+
+    private LikeRepository likeRepository;
+
+    private LikeWriteBuffer likeWriteBuffer;
+
+    private RedisUtil redisUtil;
+
+    private LikedPostCache cache;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        likeWriteBuffer = mock(LikeWriteBuffer.class);
+        redisUtil = mock(RedisUtil.class);
+        cache = new LikedPostCache(likeRepository, likeWriteBuffer, redisUtil, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxUsers", 2);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void loadsOnceAndAnswersFromBitmap() {
+        when(likeRepository.findPostIdsByUser(1L, UserType.REGULAR)).thenReturn(List.of(3L, 5L, 1_000_000L));
+
+        assertThat(cache.contains(1L, UserType.REGULAR, 5L)).isTrue();
+        assertThat(cache.contains(1L, UserType.REGULAR, 4L)).isFalse();
+        assertThat(cache.filterLiked(1L, UserType.REGULAR, List.of(1L, 3L, 1_000_000L)))
+                .containsExactlyInAnyOrder(3L, 1_000_000L);
+
+        verify(likeRepository, times(1)).findPostIdsByUser(1L, UserType.REGULAR);
+    }
+
+    @Test
+    void changesUpdateLoadedBitmap() {
+        when(likeRepository.findPostIdsByUser(1L, UserType.SOCIAL)).thenReturn(List.of(3L));
+        cache.contains(1L, UserType.SOCIAL, 3L);
+
+        cache.onChanged(1L, UserType.SOCIAL, 9L, true);
+        cache.onChanged(1L, UserType.SOCIAL, 3L, false);
+
+        assertThat(cache.contains(1L, UserType.SOCIAL, 9L)).isTrue();
+        assertThat(cache.contains(1L, UserType.SOCIAL, 3L)).isFalse();
+        // 같은 ID 라도 타입이 다르면 다른 사용자
+        assertThat(cache.contains(1L, UserType.REGULAR, 9L)).isFalse();
+    }
+
+    @Test
+    void pendingWriteBehindChangesOverlayLoadedBitmap() {
+        when(likeRepository.findPostIdsByUser(1L, UserType.REGULAR)).thenReturn(List.of(3L));
+        when(likeWriteBuffer.isEnabled()).thenReturn(true);
+        when(likeWriteBuffer.pendingFor(1L, UserType.REGULAR)).thenReturn(Map.of(3L, false, 4L, true));
+
+        assertThat(cache.filterLiked(1L, UserType.REGULAR, List.of(3L, 4L))).containsExactly(4L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUser() {
+        cache.contains(1L, UserType.REGULAR, 1L);
+        cache.contains(2L, UserType.REGULAR, 1L);
+        cache.contains(1L, UserType.REGULAR, 1L);
+        cache.contains(3L, UserType.REGULAR, 1L); // 2번 사용자 제거
+
+        cache.contains(1L, UserType.REGULAR, 1L);
+        cache.contains(2L, UserType.REGULAR, 1L);
+
+        verify(likeRepository, times(1)).findPostIdsByUser(1L, UserType.REGULAR);
+        verify(likeRepository, times(2)).findPostIdsByUser(2L, UserType.REGULAR);
+    }
+
+    @Test
+    void redisCopyIsWrittenOnlyForUnchangedGenerationAndDroppedAfterFlush() {
+        ReflectionTestUtils.setField(cache, "redisEnabled", true);
+        ReflectionTestUtils.setField(cache, "redisTtlSeconds", 600L);
+        when(redisUtil.getGeneration("likes:user:{REGULAR:1}:gen")).thenReturn("7");
+        when(likeRepository.findPostIdsByUser(1L, UserType.REGULAR)).thenReturn(List.of(3L));
+
+        cache.contains(1L, UserType.REGULAR, 3L);
+        verify(redisUtil).setDataIfGeneration(eq("likes:user:{REGULAR:1}"), anyString(), eq(600L),
+                eq("likes:user:{REGULAR:1}:gen"), eq("7"));
+
+        // write-behind 기록 커밋 -> 그 사용자의 사본 삭제 + 세대 증가
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<BiConsumer<Long, UserType>> listener = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(likeWriteBuffer).addFlushListener(listener.capture());
+        listener.getValue().accept(1L, UserType.REGULAR);
+        verify(redisUtil).deleteAndBumpGeneration("likes:user:{REGULAR:1}", "likes:user:{REGULAR:1}:gen", 600L);
+    }
+}
@@ -0,0 +1,146 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.korea.travel.dto.PostDTO;
+import com.korea.travel.dto.ResponseDTO;
+import com.korea.travel.model.PostEntity;
+import com.korea.travel.model.UserEntity;
+import com.korea.travel.search.PostSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// 게시글 조회 경로의 SQL 실행 횟수 회귀 테스트 (EAGER 컬렉션 N+1 / 카테시안 곱 방지)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "file.upload-dir=build/test-uploads"
+})
+@Import({PostService.class, PostSearchIndex.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PostServiceQueryCountTest {
+
+    private static final int POST_COUNT = 100;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Redis 캐시는 항상 miss 로 동작 (DB 조회 경로만 측정)
+    @MockBean
+    private PostCacheService postCacheService;
+
+    @MockBean
+    private PlaceService placeService;
+
+    @MockBean
+    private UserIdentityResolver userIdentityResolver;
+
+    @MockBean
+    private PostEventService postEventService;
+
+    @MockBean
+    private ImageStorageService imageStorageService;
+
+    @MockBean
+    private ImageDerivativeService imageDerivativeService;
+
+    @MockBean
+    private FeedVersionService feedVersionService;
+
+    // write-behind 꺼짐 (isEnabled() == false)
+    @MockBean
+    private LikeWriteBuffer likeWriteBuffer;
+
+    private Statistics statistics;
+
+    private Long lastPostId;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = em.persist(UserEntity.builder()
+                .userId("tester")
+                .userNickName("tester")
+                .build());
+
+        for (int i = 0; i < POST_COUNT; i++) {
+            PostEntity post = em.persist(PostEntity.builder()
+                    .postTitle("title " + i)
+                    .postContent("content " + i)
+                    .userNickname("tester")
+                    .placeList(List.of("서울", "부산"))
+                    .imageUrls(List.of("/uploads/a" + i + ".jpg", "/uploads/b" + i + ".jpg"))
+                    .userEntity(user)
+                    .build());
+            lastPostId = post.getPostId();
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void unpagedFeedOfHundredPostsRunsThreeStatements() {
+        List<PostDTO> posts = postService.getAllPosts();
+
+        assertThat(posts).hasSize(POST_COUNT);
+        assertThat(posts).allSatisfy(post -> {
+            assertThat(post.getPlaceList()).hasSize(2);
+            assertThat(post.getImageUrls()).hasSize(2);
+        });
+        // posts + users(fetch join) / post_places 배치 / post_images 배치
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void pagedFeedRunsTwoStatements() {
+        assertThat(postService.getPostsPage(null, PostService.MAX_PAGE_SIZE).getData())
+                .hasSize(PostService.MAX_PAGE_SIZE)
+                .allSatisfy(post -> assertThat(post.getThumbnail()).isNotNull());
+        // 요약 프로젝션 / 썸네일용 post_images
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void postDetailRunsTwoStatements() {
+        PostDTO post = postService.getPostById(lastPostId);
+
+        assertThat(post.getPlaceList()).containsExactly("서울", "부산");
+        assertThat(post.getThumbnail()).isEqualTo(post.getImageUrls().get(0));
+        // posts + users + post_images(엔티티 그래프) / post_places
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void batchDetailKeepsOrderAndReportsMissingIdsInFourStatements() {
+        List<Long> ids = List.of(lastPostId, lastPostId + 1000, lastPostId - 10, lastPostId - 1);
+
+        ResponseDTO<PostDTO> response = postService.getPostsByIds(ids);
+
+        assertThat(response.getData()).extracting(PostDTO::getPostId)
+                .containsExactly(lastPostId, lastPostId - 10, lastPostId - 1);
+        assertThat(response.getMissingIds()).containsExactly(lastPostId + 1000);
+        // posts(findAllById) / users 배치 / post_places 배치 / post_images 배치
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,139 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.korea.travel.service.RedisUtil.VerifyResult;
+
+// RedisUtil Lua 스크립트 - 실제 Redis(컨테이너)에서 원자성 확인 (Docker 없으면 건너뜀)
+@Testcontainers(disabledWithoutDocker = true)
+class RedisUtilScriptTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    private RedisUtil redisUtil;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        redisUtil = new RedisUtil(redisTemplate);
+    }
+
+    @Test
+    void cooldownRejectsResendAndKeepsFirstCode() {
+        assertThat(redisUtil.setDataWithCooldown("code", "111111", 600, "cooldown", 60, "attempts")).isTrue();
+        assertThat(redisUtil.setDataWithCooldown("code", "222222", 600, "cooldown", 60, "attempts")).isFalse();
+
+        assertThat(redisUtil.getData("code")).isEqualTo("111111");
+        assertThat(redisTemplate.getExpire("cooldown")).isPositive();
+    }
+
+    @Test
+    void resendResetsAttempts() {
+        redisUtil.setDataWithCooldown("code", "111111", 600, "cooldown", 0, "attempts");
+        redisUtil.verifyAndConsume("code", "000000", "attempts", 5, 600);
+
+        redisUtil.setDataWithCooldown("code", "222222", 600, "cooldown", 0, "attempts");
+
+        assertThat(redisUtil.existData("attempts")).isFalse();
+        assertThat(redisUtil.existData("cooldown")).isFalse();
+    }
+
+    @Test
+    void codeCanBeUsedOnlyOnce() {
+        redisUtil.setDataWithCooldown("code", "111111", 600, "cooldown", 60, "attempts");
+
+        assertThat(redisUtil.verifyAndConsume("code", "111111", "attempts", 5, 600)).isEqualTo(VerifyResult.VERIFIED);
+        assertThat(redisUtil.verifyAndConsume("code", "111111", "attempts", 5, 600)).isEqualTo(VerifyResult.EXPIRED);
+        assertThat(redisUtil.existData("attempts")).isFalse();
+    }
+
+    @Test
+    void tooManyWrongAttemptsBurnTheCode() {
+        redisUtil.setDataWithCooldown("code", "111111", 600, "cooldown", 60, "attempts");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(redisUtil.verifyAndConsume("code", "000000", "attempts", 3, 600)).isEqualTo(VerifyResult.MISMATCH);
+        }
+        assertThat(redisUtil.verifyAndConsume("code", "000000", "attempts", 3, 600))
+                .isEqualTo(VerifyResult.TOO_MANY_ATTEMPTS);
+        // 맞는 번호라도 이미 폐기됨
+        assertThat(redisUtil.verifyAndConsume("code", "111111", "attempts", 3, 600)).isEqualTo(VerifyResult.EXPIRED);
+    }
+
+    @Test
+    void concurrentVerificationsSucceedExactlyOnce() throws Exception {
+        redisUtil.setDataWithCooldown("code", "111111", 600, "cooldown", 60, "attempts");
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<VerifyResult>> calls = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                calls.add(() -> redisUtil.verifyAndConsume("code", "111111", "attempts", 5, 600));
+            }
+            long verified = 0;
+            for (Future<VerifyResult> future : pool.invokeAll(calls)) {
+                if (future.get() == VerifyResult.VERIFIED) {
+                    verified++;
+                }
+            }
+            assertThat(verified).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void staleGenerationDoesNotOverwriteAfterInvalidation() {
+        String generation = redisUtil.getGeneration("bitmap:gen");
+        assertThat(generation).isEqualTo("0");
+
+        // 읽는 동안 다른 노드가 변경 -> 삭제 + 세대 증가
+        redisUtil.deleteAndBumpGeneration("bitmap", "bitmap:gen", 600);
+
+        assertThat(redisUtil.setDataIfGeneration("bitmap", "stale", 600, "bitmap:gen", generation)).isFalse();
+        assertThat(redisUtil.existData("bitmap")).isFalse();
+
+        String current = redisUtil.getGeneration("bitmap:gen");
+        assertThat(redisUtil.setDataIfGeneration("bitmap", "fresh", 600, "bitmap:gen", current)).isTrue();
+        assertThat(redisUtil.getData("bitmap")).isEqualTo("fresh");
+    }
+}
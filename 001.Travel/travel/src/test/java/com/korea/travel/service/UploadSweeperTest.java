@@ -0,0 +1,112 @@
+package com.korea.travel.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.korea.travel.persistence.PostRepository;
+import com.korea.travel.persistence.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// 업로드 고아 파일 정리 - 임시 업로드 디렉토리 기준 (DB / 내용 주소 삭제는 mock)
+class UploadSweeperTest {
+
+    private static final String SHA_A = "ab".repeat(32);
+    private static final String SHA_B = "cd".repeat(32);
+
+    @TempDir
+    Path root;
+
+    private PostRepository postRepository;
+
+    private UserRepository userRepository;
+
+    private ImageStorageService imageStorageService;
+
+    private UploadSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        userRepository = mock(UserRepository.class);
+        imageStorageService = mock(ImageStorageService.class);
+        sweeper = new UploadSweeper(postRepository, userRepository, imageStorageService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sweeper, "uploadDir", root.toString());
+        ReflectionTestUtils.setField(sweeper, "graceHours", 24L);
+        ReflectionTestUtils.setField(sweeper, "maxDeletesPerSecond", 0);
+
+        when(postRepository.findAllImageUrls()).thenReturn(List.of(
+                "/uploads/keep.jpg",
+                "/uploads/blobs/ab/ab/" + SHA_A + ".jpg"));
+        when(userRepository.findAllProfileImages()).thenReturn(List.of("/uploads/profile.png"));
+        when(imageStorageService.purgeOrphanBlob(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedFiles() throws IOException {
+        Path orphan = file("orphan.jpg", 48);
+        Path recent = file("recent.jpg", 1);
+        Path legacy = file("keep.jpg", 48);
+        Path profile = file("profile.png", 48);
+        Path blob = file("blobs/ab/ab/" + SHA_A + ".jpg", 48);
+        Path thumb = file("blobs/ab/ab/" + SHA_A + "_jpg_thumb.jpg", 48);
+        Path medium = file("blobs/ab/ab/" + SHA_A + "_jpg_medium.jpg", 48);
+        // 같은 내용의 다른 확장자 원본은 참조되지 않으므로 그 파생 이미지는 삭제 대상
+        Path otherThumb = file("blobs/ab/ab/" + SHA_A + "_jpeg_thumb.jpg", 48);
+        Path orphanBlob = file("blobs/cd/cd/" + SHA_B + ".png", 48);
+
+        sweeper.sweep();
+
+        assertThat(orphan).doesNotExist();
+        assertThat(otherThumb).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(legacy).exists();
+        assertThat(profile).exists();
+        assertThat(blob).exists();
+        assertThat(thumb).exists();
+        assertThat(medium).exists();
+        // 내용 주소 원본은 직접 지우지 않고 ImageStorageService 에 맡김
+        verify(imageStorageService).purgeOrphanBlob(eq(orphanBlob), any());
+        verify(imageStorageService, never()).purgeOrphanBlob(eq(blob), any());
+    }
+
+    @Test
+    void dryRunKeepsEverything() throws IOException {
+        ReflectionTestUtils.setField(sweeper, "dryRun", true);
+        Path orphan = file("orphan.jpg", 48);
+        Path orphanBlob = file("blobs/cd/cd/" + SHA_B + ".png", 48);
+
+        assertThat(sweeper.sweep()).isZero();
+
+        assertThat(orphan).exists();
+        assertThat(orphanBlob).exists();
+        verify(imageStorageService, never()).purgeOrphanBlob(any(), any());
+    }
+
+    // hoursAgo 시간 전에 마지막으로 수정된 파일
+    private Path file(String relative, long hoursAgo) throws IOException {
+        Path path = root.resolve(relative);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[] { 1, 2, 3 });
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofHours(hoursAgo))));
+        return path;
+    }
+}